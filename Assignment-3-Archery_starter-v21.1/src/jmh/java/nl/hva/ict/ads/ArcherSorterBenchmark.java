@@ -0,0 +1,106 @@
+package nl.hva.ict.ads;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of all Sorter engines on lists of Archers ranked by the scoring scheme,
+ * which is the ordening that is used by the ChampionSelector to find the winners.
+ * selInsSort is quadratic, so it only sorts the first MAX_INSERTION_SORT_SIZE items of the larger sizes.
+ * Every invocation sorts a fresh copy of the same arranged competition, made by a Level.Invocation setup.
+ * JMH times around every invocation then, which distorts the sub-millisecond invocations of size=100:
+ * compare those results only with each other, not with the larger sizes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArcherSorterBenchmark {
+    private static final Comparator<Archer> scoringScheme = Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId;
+
+    public static final int MAX_INSERTION_SORT_SIZE = 10_000;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public InputShape shape;
+
+    @Param({"10"})
+    public int numTops;
+
+    private final Sorter<Archer> sorter = new ArcherSorter();
+    private List<Archer> input;
+    private List<Archer> items;
+
+    @Setup(Level.Trial)
+    public void setupInput() {
+        Random randomizer = new Random(19670427L);
+        if (shape == InputShape.FEW_UNIQUE) {
+            input = enrollIdenticalShooters(size, randomizer);
+        } else {
+            input = new ArrayList<>(new ChampionSelector(randomizer.nextLong()).enrollArchers(size));
+        }
+        shape.arrange(input, scoringScheme, randomizer);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        items = new ArrayList<>(input);
+    }
+
+    /**
+     * Enrolls archers that all shoot one of a few fixed series of rounds,
+     * such that total scores and misses are tied in large groups and only the id breaks the ties
+     */
+    private static List<Archer> enrollIdenticalShooters(int nrOfArchers, Random randomizer) {
+        int[][] series = new int[InputShape.FEW][Archer.MAX_ARROWS];
+        for (int[] points : series) {
+            for (int arrow = 0; arrow < points.length; arrow++) {
+                points[arrow] = randomizer.nextInt(11);
+            }
+        }
+        List<Archer> archers = new ArrayList<>(nrOfArchers);
+        for (int i = 0; i < nrOfArchers; i++) {
+            Archer archer = new Archer(Names.nextFirstName(), Names.nextSurname());
+            int[] points = series[randomizer.nextInt(series.length)];
+            for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+                archer.registerScoreForRound(round, points);
+            }
+            archers.add(archer);
+        }
+        return archers;
+    }
+
+    @Benchmark
+    public List<Archer> selInsSort() {
+        return sorter.selInsSort(items.subList(0, Math.min(size, MAX_INSERTION_SORT_SIZE)), scoringScheme);
+    }
+
+    @Benchmark
+    public List<Archer> quickSort() {
+        return sorter.quickSort(items, scoringScheme);
+    }
+
+    @Benchmark
+    public List<Archer> mergeSort() {
+        return sorter.mergeSort(items, scoringScheme);
+    }
+
+    @Benchmark
+    public List<Archer> topsHeapSort() {
+        return sorter.topsHeapSort(numTops, items, scoringScheme);
+    }
+
+    @Benchmark
+    public List<Archer> sortByLongKey() {
+        return sorter.sortByLongKey(items, Archer::getRankingKey);
+    }
+}
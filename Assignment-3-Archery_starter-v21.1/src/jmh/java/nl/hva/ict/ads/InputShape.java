@@ -0,0 +1,53 @@
+package nl.hva.ict.ads;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The arrangements of input data that are fed into the sorter benchmarks.
+ * Each shape is a known best, average or worst case for one of the sort engines.
+ */
+public enum InputShape {
+    RANDOM,
+    SORTED,
+    REVERSED,
+    FEW_UNIQUE,
+    ORGAN_PIPE;
+
+    /** the number of distinct values that is generated for FEW_UNIQUE inputs */
+    public static final int FEW = 8;
+
+    /**
+     * Rearranges the items 'in place' into this shape according to the ordening of comparator.
+     * FEW_UNIQUE items are expected to have been generated with few distinct values already
+     * and are just shuffled, like RANDOM items.
+     * @param items
+     * @param comparator
+     * @param randomizer
+     * @return  the items in the arrangement of this shape
+     */
+    public <E> List<E> arrange(List<E> items, Comparator<? super E> comparator, Random randomizer) {
+        switch (this) {
+            case SORTED:
+                items.sort(comparator);
+                break;
+            case REVERSED:
+                items.sort(comparator.reversed());
+                break;
+            case ORGAN_PIPE:
+                // ascending up to the middle and descending thereafter
+                items.sort(comparator);
+                List<E> pipe = new ArrayList<>(items.size());
+                for (int i = 0; i < items.size(); i += 2) pipe.add(items.get(i));
+                for (int i = items.size() - 1 - items.size() % 2; i > 0; i -= 2) pipe.add(items.get(i));
+                for (int i = 0; i < pipe.size(); i++) items.set(i, pipe.get(i));
+                break;
+            default:
+                Collections.shuffle(items, randomizer);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,77 @@
+package nl.hva.ict.ads;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of all Sorter engines on lists of plain Integers,
+ * which isolates the cost of the algorithms from the cost of the comparator.
+ * selInsSort is quadratic, so it only sorts the first MAX_INSERTION_SORT_SIZE items of the larger sizes.
+ * Every invocation sorts a fresh copy of the same arranged input, made by a Level.Invocation setup.
+ * JMH times around every invocation then, which distorts the sub-millisecond invocations of size=100:
+ * compare those results only with each other, not with the larger sizes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntegerSorterBenchmark {
+    private static final Comparator<Integer> naturalOrder = Comparator.naturalOrder();
+
+    public static final int MAX_INSERTION_SORT_SIZE = 10_000;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public InputShape shape;
+
+    @Param({"10"})
+    public int numTops;
+
+    private final Sorter<Integer> sorter = new SorterImpl<>();
+    private List<Integer> input;
+    private List<Integer> items;
+
+    @Setup(Level.Trial)
+    public void setupInput() {
+        Random randomizer = new Random(19670427L);
+        input = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            input.add(shape == InputShape.FEW_UNIQUE ? randomizer.nextInt(InputShape.FEW) : randomizer.nextInt());
+        }
+        shape.arrange(input, naturalOrder, randomizer);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        items = new ArrayList<>(input);
+    }
+
+    @Benchmark
+    public List<Integer> selInsSort() {
+        return sorter.selInsSort(items.subList(0, Math.min(size, MAX_INSERTION_SORT_SIZE)), naturalOrder);
+    }
+
+    @Benchmark
+    public List<Integer> quickSort() {
+        return sorter.quickSort(items, naturalOrder);
+    }
+
+    @Benchmark
+    public List<Integer> mergeSort() {
+        return sorter.mergeSort(items, naturalOrder);
+    }
+
+    @Benchmark
+    public List<Integer> topsHeapSort() {
+        return sorter.topsHeapSort(numTops, items, naturalOrder);
+    }
+}
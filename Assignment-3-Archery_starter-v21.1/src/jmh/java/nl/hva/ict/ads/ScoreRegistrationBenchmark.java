@@ -0,0 +1,54 @@
+package nl.hva.ict.ads;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the number of score submissions per second that the ConcurrentScoreRegistry sustains.
+ * Run with increasing numbers of judging threads to verify the scaling up to the number of cores, e.g.:
+ *      java -jar target/benchmarks.jar ScoreRegistration -t 1 -t 2 -t 4 -t 8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreRegistrationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Competition {
+        @Param({"100000"})
+        public int nrOfArchers;
+
+        ConcurrentScoreRegistry registry;
+        int firstId;
+
+        @Setup(Level.Trial)
+        public void enroll() {
+            registry = new ConcurrentScoreRegistry();
+            firstId = registry.enroll(Names.nextFirstName(), Names.nextSurname()).getId();
+            for (int i = 1; i < nrOfArchers; i++) {
+                registry.enroll(Names.nextFirstName(), Names.nextSurname());
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Judge {
+        final SplittableRandom randomizer = new SplittableRandom();
+        final int[] points = new int[Archer.MAX_ARROWS];
+    }
+
+    @Benchmark
+    public void submitScore(Competition competition, Judge judge) {
+        for (int arrow = 0; arrow < judge.points.length; arrow++) {
+            judge.points[arrow] = judge.randomizer.nextInt(11);
+        }
+        competition.registry.submitScore(
+                competition.firstId + judge.randomizer.nextInt(competition.nrOfArchers),
+                1 + judge.randomizer.nextInt(Archer.MAX_ROUNDS),
+                judge.points);
+    }
+}
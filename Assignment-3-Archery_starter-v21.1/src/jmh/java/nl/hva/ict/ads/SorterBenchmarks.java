@@ -0,0 +1,28 @@
+package nl.hva.ict.ads;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+
+/**
+ * Runs the sorter benchmarks by the regular JMH command line, with the gc profiler attached by default,
+ * such that allocation rates are reported next to the throughput of every sort engine.
+ * All JMH options are honoured, e.g. to list the benchmarks (-l), show the help (-h),
+ * or select a subset of the benchmarks:
+ *      java -jar target/benchmarks.jar Archer.*quickSort -p size=100,10000
+ * The gc profiler is only added if no other profiler has been requested by -prof, e.g. -prof stack.
+ * selInsSort is quadratic, so the benchmarks cap it at MAX_INSERTION_SORT_SIZE items on the largest sizes.
+ */
+public class SorterBenchmarks {
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("-prof")) {
+            Main.main(args);
+        } else {
+            String[] withProfiler = new String[args.length + 2];
+            withProfiler[0] = "-prof";
+            withProfiler[1] = "gc";
+            System.arraycopy(args, 0, withProfiler, 2, args.length);
+            Main.main(withProfiler);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package nl.hva.ict.ads;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sorter that picks the sort algorithm for every quickSort call from the measured presortedness of the items.
+ * A sample of the items is analysed for:
+ *  - the ratio of descents between adjacent items, which estimates the number of ascending runs
+ *  - the ratio of inverted pairs among random pairs of items, which estimates the number of inversions
+ *  - the ratio of duplicates in a random subset of items
+ * and then the items are sorted by
+ *  - insertion sort if they are few or have hardly any inversions,
+ *  - run merging sort if they consist of few (ascending or descending) runs,
+ *  - three-way partitioning quick sort if they contain many duplicates,
+ *  - the introspective quick sort of IntroSorter otherwise, which also stays O(n log n) on moderately many duplicates
+ *    that are not detected by the sample.
+ * The analysis of the last call is available for diagnostics.
+ * @param <E>
+ */
+public class AdaptiveSorter<E>
+        extends IntroSorter<E>
+        implements Sorter<E> {
+
+    public static final int SAMPLE_SIZE = 256;
+    public static final int INSERTION_SORT_THRESHOLD = 32;
+    public static final int INSERTION_SORT_MAX_SIZE = 4096;
+
+    public enum Strategy { INSERTION_SORT, RUN_MERGE_SORT, THREE_WAY_QUICK_SORT, QUICK_SORT }
+
+    /**
+     * The statistics of a sample of the items and the strategy that has been chosen from them
+     */
+    public static class Analysis {
+        private final int size;
+        private final long estimatedRuns;
+        private final long estimatedInversions;
+        private final double duplicateRatio;
+        private final Strategy strategy;
+
+        Analysis(int size, long estimatedRuns, long estimatedInversions, double duplicateRatio, Strategy strategy) {
+            this.size = size;
+            this.estimatedRuns = estimatedRuns;
+            this.estimatedInversions = estimatedInversions;
+            this.duplicateRatio = duplicateRatio;
+            this.strategy = strategy;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getEstimatedRuns() {
+            return estimatedRuns;
+        }
+
+        public long getEstimatedInversions() {
+            return estimatedInversions;
+        }
+
+        public double getDuplicateRatio() {
+            return duplicateRatio;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s for %d items (~%d runs, ~%d inversions, %.0f%% duplicates)",
+                    strategy, size, estimatedRuns, estimatedInversions, 100 * duplicateRatio);
+        }
+    }
+
+    private volatile Analysis lastAnalysis;
+
+    /**
+     * @return  the analysis of the items of the last quickSort call, or null if there was none
+     */
+    public Analysis getLastAnalysis() {
+        return lastAnalysis;
+    }
+
+    /**
+     * Sorts all items by the algorithm that suits their measured presortedness best
+     * @param items
+     * @param comparator
+     * @return  the items sorted in place
+     */
+    @Override
+    public List<E> quickSort(List<E> items, Comparator<E> comparator) {
+        return onArraySnapshot(items, list -> {
+            Analysis analysis = this.analyse(list, comparator);
+            lastAnalysis = analysis;
+            switch (analysis.getStrategy()) {
+                case INSERTION_SORT:
+                    insertionSortPart(list, 0, list.size() - 1, comparator);
+                    break;
+                case RUN_MERGE_SORT:
+                    new RunMerger<>(list, comparator).sort();
+                    break;
+                case THREE_WAY_QUICK_SORT:
+                    this.threeWayQuickSortPart(list, 0, list.size() - 1, comparator);
+                    break;
+                default:
+                    quickSortPart(list, 0, list.size() - 1, comparator);
+            }
+        });
+    }
+
+    /**
+     * Measures the presortedness of a sample of the items and chooses the sort algorithm accordingly
+     * @param items
+     * @param comparator
+     * @return  the statistics of the sample and the chosen strategy
+     */
+    public Analysis analyse(List<E> items, Comparator<E> comparator) {
+        int n = items.size();
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            return new Analysis(n, 1, 0, 0, Strategy.INSERTION_SORT);
+        }
+        // a fixed seed makes the choice reproducible for the same input
+        SplittableRandom randomizer = new SplittableRandom(n);
+        int samples = Math.min(SAMPLE_SIZE, n - 1);
+
+        // descents between adjacent items at evenly spread positions
+        int descents = 0;
+        for (int s = 0; s < samples; s++) {
+            int i = (int) ((long) s * (n - 1) / samples);
+            if (comparator.compare(items.get(i), items.get(i + 1)) > 0) descents++;
+        }
+        long estimatedRuns = 1 + (long) descents * (n - 1) / samples;
+
+        // inverted pairs among random pairs of items
+        int inversions = 0;
+        for (int s = 0; s < samples; s++) {
+            int i = randomizer.nextInt(n - 1);
+            int j = i + 1 + randomizer.nextInt(n - 1 - i);
+            if (comparator.compare(items.get(i), items.get(j)) > 0) inversions++;
+        }
+        double inversionRatio = (double) inversions / samples;
+        long estimatedInversions = (long) (inversionRatio * n * (n - 1) / 2);
+
+        // duplicates among a random subset of items, which is sorted for counting
+        List<E> subset = new ArrayList<>(samples);
+        for (int s = 0; s < samples; s++) {
+            subset.add(items.get(randomizer.nextInt(n)));
+        }
+        insertionSortPart(subset, 0, samples - 1, comparator);
+        int duplicates = 0;
+        for (int s = 1; s < samples; s++) {
+            if (comparator.compare(subset.get(s - 1), subset.get(s)) == 0) duplicates++;
+        }
+        double duplicateRatio = (double) duplicates / samples;
+
+        Strategy strategy;
+        if (n <= INSERTION_SORT_MAX_SIZE && estimatedInversions <= n) {
+            strategy = Strategy.INSERTION_SORT;
+        } else if (estimatedRuns <= n / 64 || (n - 1) - estimatedRuns < n / 64) {
+            // few ascending runs, or few descending runs which are reversed into ascending runs
+            strategy = Strategy.RUN_MERGE_SORT;
+        } else if (duplicateRatio >= 0.5) {
+            strategy = Strategy.THREE_WAY_QUICK_SORT;
+        } else {
+            strategy = Strategy.QUICK_SORT;
+        }
+        return new Analysis(n, estimatedRuns, estimatedInversions, duplicateRatio, strategy);
+    }
+
+    /**
+     * Sorts all items between index positions 'from' and 'to' inclusive by quick sort with three-way partitioning:
+     * items equal to the pivot are gathered in the middle and excluded from further sorting
+     * Like the introspective quick sort of IntroSorter, partitions that are still unsorted after a recursion depth
+     * of 2*log(n) are finished by heap sort, which keeps the sort O(n log n) on any sequence of pivots
+     * Items are sorted 'in place' without use of an auxiliary list or array or other positions in items
+     * @param items
+     * @param from
+     * @param to
+     * @param comparator
+     */
+    protected void threeWayQuickSortPart(List<E> items, int from, int to, Comparator<E> comparator) {
+        if (from < to) {
+            this.threeWayQuickSortPart(items, from, to, 2 * floorLog2(to - from + 1), comparator);
+        }
+    }
+
+    private void threeWayQuickSortPart(List<E> items, int from, int to, int depthLimit, Comparator<E> comparator) {
+        while (to - from >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                // the pivots have been unlucky too often, avoid quadratic behaviour
+                this.heapSortPart(items, from, to, comparator);
+                return;
+            }
+            depthLimit--;
+            int[] band = this.quickSortPartitionThreeWay(items, from, to, comparator);
+            int lt = band[0];
+            int gt = band[1];
+            // recurse into the smaller part and iterate on the larger part to limit the stack depth
+            if (lt - from < to - gt) {
+                this.threeWayQuickSortPart(items, from, lt - 1, depthLimit, comparator);
+                from = gt + 1;
+            } else {
+                this.threeWayQuickSortPart(items, gt + 1, to, depthLimit, comparator);
+                to = lt - 1;
+            }
+        }
+        insertionSortPart(items, from, to, comparator);
+    }
+}
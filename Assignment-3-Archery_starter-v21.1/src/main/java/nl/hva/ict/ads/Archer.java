@@ -1,19 +1,27 @@
 package nl.hva.ict.ads;
 
-import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Archer {
     public static int MAX_ARROWS = 3;
     public static int MAX_ROUNDS = 10;
 
 
-    private static int nextId = 135788;
+    static final int FIRST_ID = 135788;
+    private static final AtomicInteger nextId = new AtomicInteger(FIRST_ID);
     private final int id;
-    private String firstName;
-    private String lastName;
-
-    // Will int[] suffice for scores?
-    private int[] scores = new int[30];
+    // ordinals of the names in NameDictionary.FIRST_NAMES and NameDictionary.SURNAMES
+    private final short firstName;
+    private final short lastName;
+
+    // the points of all 30 arrows, packed by PackedScores into a nibble per arrow:
+    // arrows 0..15 into lowScores and arrows 16..29 into highScores
+    private long lowScores;
+    private long highScores;
+    // totals of the scores, recalculated by registerScoreForRound
+    // every arrow that has not been registered yet counts as a miss
+    private short totalScore = 0;
+    private short totalMisses = 30;
 
     /**
      * Constructs a new instance of Archer and assigns a unique id to the instance.
@@ -24,10 +32,68 @@ public class Archer {
      * @param lastName the archers surname.
      */
     public Archer(String firstName, String lastName) {
-        this.id = nextId;
-        nextId++;
+        this(claimNextId(), firstName, lastName);
+    }
+
+    /**
+     * Constructs an instance of Archer for an id that has been claimed already, e.g. by an ArcherStore
+     * @param id    the unique id of the archer
+     * @param firstName the archers first name.
+     * @param lastName the archers surname.
+     */
+    Archer(int id, String firstName, String lastName) {
+        this.id = id;
+        this.firstName = (short) NameDictionary.FIRST_NAMES.ordinalOf(firstName);
+        this.lastName = (short) NameDictionary.SURNAMES.ordinalOf(lastName);
+    }
+
+    /**
+     * Constructs an instance of Archer from its packed representation, e.g. as reloaded from a CompetitionSnapshot
+     * @param id    the unique id of the archer
+     * @param firstName the ordinal of the first name in NameDictionary.FIRST_NAMES
+     * @param lastName  the ordinal of the surname in NameDictionary.SURNAMES
+     * @param lowScores the points of arrows 0..15, packed by PackedScores
+     * @param highScores the points of arrows 16..29, packed by PackedScores
+     */
+    Archer(int id, short firstName, short lastName, long lowScores, long highScores) {
+        this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
+        this.lowScores = lowScores;
+        this.highScores = highScores;
+        this.recalculateTotals();
+    }
+
+    /**
+     * Claims the next unique id for a new archer, also when archers are enrolled concurrently
+     * @return  the claimed id, 1 higher than the last one claimed
+     */
+    static int claimNextId() {
+        return nextId.getAndIncrement();
+    }
+
+    /**
+     * Claims a consecutive block of unique ids for new archers
+     * @param count the number of ids to claim
+     * @return  the first claimed id, the other ids follow consecutively
+     */
+    static int claimIds(int count) {
+        return nextId.getAndAdd(count);
+    }
+
+    /**
+     * @return  the id that will be assigned to the next archer
+     */
+    static int peekNextId() {
+        return nextId.get();
+    }
+
+    /**
+     * Ensures that no id below firstFreeId will be assigned to new archers, e.g. after reloading a competition
+     * @param firstFreeId
+     */
+    static void advanceNextId(int firstFreeId) {
+        nextId.accumulateAndGet(firstFreeId, Math::max);
     }
 
     /**
@@ -37,11 +103,33 @@ public class Archer {
      * @param points the points shot during the round, one for each arrow.
      */
     public void registerScoreForRound(int round, int[] points) {
-        int index = (round - 1) * 3;
+        if (round < 1 || round > MAX_ROUNDS) {
+            throw new IllegalArgumentException("round must be between 1 and " + MAX_ROUNDS + ", but was " + round);
+        }
+        if (points.length > MAX_ARROWS) {
+            throw new IllegalArgumentException("at most " + MAX_ARROWS + " arrows are shot in a round, but were " + points.length);
+        }
         for (int point : points) {
-            this.scores[index] = point;
-            index++;
+            if (point < 0 || point > PackedScores.MAX_POINTS) {
+                throw new IllegalArgumentException("points must be between 0 and 10, but were " + point);
+            }
         }
+        int arrow = (round - 1) * MAX_ARROWS;
+        for (int point : points) {
+            if (arrow < PackedScores.ARROWS_PER_WORD) {
+                this.lowScores = PackedScores.with(this.lowScores, arrow, point);
+            } else {
+                this.highScores = PackedScores.with(this.highScores, arrow - PackedScores.ARROWS_PER_WORD, point);
+            }
+            arrow++;
+        }
+        this.recalculateTotals();
+    }
+
+    private void recalculateTotals() {
+        this.totalScore = (short) (PackedScores.total(this.lowScores) + PackedScores.total(this.highScores));
+        this.totalMisses = (short) (PackedScores.misses(this.lowScores, PackedScores.ARROWS_PER_WORD)
+                + PackedScores.misses(this.highScores, 30 - PackedScores.ARROWS_PER_WORD));
     }
 
 
@@ -50,7 +138,7 @@ public class Archer {
      * @return
      */
     public int getTotalScore() {
-        return Arrays.stream(this.scores).sum();
+        return this.totalScore;
     }
 
     /**
@@ -61,31 +149,60 @@ public class Archer {
      * @return  negative number, zero or positive number according to Comparator convention
      */
     public int compareByHighestTotalScoreWithLeastMissesAndLowestId(Archer other) {
-        // TODO compares the scores/id of this archer with the other archer
-        //  and return the result according to Comparator conventions
-        if (this.equals(other)) {
-            return 0;
-        }
-
-        if (this.getTotalScore() > other.getTotalScore()) {
-            return 1;
+        if (this.totalScore != other.totalScore) {
+            // the highest total score comes first
+            return this.totalScore > other.totalScore ? -1 : 1;
         }
 
-        if (this.getTotalMisses() < other.getTotalMisses()) {
-            return 1;
+        if (this.totalMisses != other.totalMisses) {
+            // the least misses come first
+            return this.totalMisses < other.totalMisses ? -1 : 1;
         }
 
-        if (this.getId() < other.getId()) {
-            return 1;
-        }
+        // the earliest registration comes first
+        return Integer.compare(this.id, other.id);
+    }
 
-        return -1;
+    /**
+     * Packs the scoring scheme into a single key, such that the ascending order of the keys
+     * equals the order of compareByHighestTotalScoreWithLeastMissesAndLowestId:
+     *      bits 48..63: 0xFFFF - total score, bits 32..47: total misses, bits 0..31: id
+     * @return  the ranking key of this archer
+     */
+    public long getRankingKey() {
+        return (long) (0xFFFF - this.totalScore) << 48
+                | (long) this.totalMisses << 32
+                | (this.id & 0xFFFFFFFFL);
     }
 
     public int getTotalMisses() {
-        return (int) Arrays.stream(this.scores)
-                           .filter(x -> x == 0)
-                           .count();
+        return this.totalMisses;
+    }
+
+    /**
+     * @param arrow the zero-based number of the arrow across all rounds
+     * @return  the points of the arrow
+     */
+    int getScore(int arrow) {
+        return arrow < PackedScores.ARROWS_PER_WORD
+                ? PackedScores.get(this.lowScores, arrow)
+                : PackedScores.get(this.highScores, arrow - PackedScores.ARROWS_PER_WORD);
+    }
+
+    long getLowScores() {
+        return lowScores;
+    }
+
+    long getHighScores() {
+        return highScores;
+    }
+
+    short getFirstNameOrdinal() {
+        return firstName;
+    }
+
+    short getLastNameOrdinal() {
+        return lastName;
     }
 
     public int getId() {
@@ -93,11 +210,20 @@ public class Archer {
     }
 
     public String getFirstName() {
-        return firstName;
+        return NameDictionary.FIRST_NAMES.nameOf(firstName);
     }
 
     public String getLastName() {
-        return lastName;
+        return NameDictionary.SURNAMES.nameOf(lastName);
+    }
+
+    /**
+     * Packs the alphabetical ranks of the last name and first name into a single key, such that the order of the keys
+     * equals the order of Comparator.comparing(Archer::getLastName).thenComparing(Archer::getFirstName)
+     * @return  the name key of this archer
+     */
+    public int getNameKey() {
+        return NameDictionary.SURNAMES.rankOf(lastName) << 16 | NameDictionary.FIRST_NAMES.rankOf(firstName);
     }
 
     @Override
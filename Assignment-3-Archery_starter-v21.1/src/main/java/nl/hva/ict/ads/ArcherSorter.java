@@ -1,7 +1,11 @@
 package nl.hva.ict.ads;
 
+/**
+ * Sorter of archers, which sorts by the introspective quick sort engine of IntroSorter
+ * to guarantee O(n log n) on any competition
+ */
 public class ArcherSorter
-        extends SorterImpl<Archer>
+        extends IntroSorter<Archer>
         implements Sorter<Archer> {
 
     // this class is for convenience and requires no further implementation if SorterImpl is fully provided
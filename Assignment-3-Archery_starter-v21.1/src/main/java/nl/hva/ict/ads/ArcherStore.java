@@ -0,0 +1,230 @@
+package nl.hva.ict.ads;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Columnar storage of the archers of a (very large) competition.
+ * Every archer is identified by its index in the store and all its attributes are kept in contiguous primitive arrays:
+ *  - the unique ids, which are claimed from the same sequence as the ids of Archer instances
+ *  - the ordinals of the first name and surname in the NameDictionary, which are the same as in Names
+ *  - the running total score and misses
+ *  - one byte per arrow for all scores, in a direct buffer outside the heap
+ * Archer instances are only materialised on request, e.g. for reporting of the winners.
+ */
+public class ArcherStore {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final int arrowsPerRound;
+    private final int arrowsPerArcher;
+    private int size = 0;
+    private int[] ids;
+    private short[] firstNameOrdinals;
+    private short[] surnameOrdinals;
+    private short[] totalScores;
+    private short[] totalMisses;
+    private ByteBuffer scores;
+
+    public ArcherStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity  the number of archers that can be enrolled before the store needs to grow
+     */
+    public ArcherStore(int capacity) {
+        this.arrowsPerRound = Archer.MAX_ARROWS;
+        this.arrowsPerArcher = Archer.MAX_ARROWS * Archer.MAX_ROUNDS;
+        this.allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Enrolls a new archer into the store
+     * @param firstNameOrdinal  the ordinal of the first name in NameDictionary.FIRST_NAMES
+     * @param surnameOrdinal    the ordinal of the surname in NameDictionary.SURNAMES
+     * @return  the index of the new archer in the store
+     */
+    public int enroll(int firstNameOrdinal, int surnameOrdinal) {
+        if (size == ids.length) {
+            this.allocate(grownCapacity(size, Integer.MAX_VALUE / arrowsPerArcher));
+        }
+        int index = size++;
+        ids[index] = Archer.claimNextId();
+        firstNameOrdinals[index] = (short) firstNameOrdinal;
+        surnameOrdinals[index] = (short) surnameOrdinal;
+        // every arrow that has not been registered yet counts as a miss
+        totalMisses[index] = (short) arrowsPerArcher;
+        return index;
+    }
+
+    /**
+     * Registers the points for each of the arrows that have been shot by an archer during a round.
+     * @param index the index of the archer in the store
+     * @param round the round for which to register the points. First round has number 1.
+     * @param points the points shot during the round, one for each arrow.
+     * @throws IndexOutOfBoundsException    if no archer has been enrolled at index
+     * @throws IllegalArgumentException     if the round, the number of arrows or any of the points is invalid,
+     *                                      in which case no score is registered
+     */
+    public void registerScoreForRound(int index, int round, int[] points) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for " + size + " archers");
+        }
+        if (round < 1 || round > Archer.MAX_ROUNDS) {
+            throw new IllegalArgumentException("round must be between 1 and " + Archer.MAX_ROUNDS + ", but was " + round);
+        }
+        if (points.length != arrowsPerRound) {
+            throw new IllegalArgumentException(arrowsPerRound + " arrows are shot in a round, but were " + points.length);
+        }
+        for (int point : points) {
+            if (point < 0 || point > PackedScores.MAX_POINTS) {
+                throw new IllegalArgumentException("points must be between 0 and 10, but were " + point);
+            }
+        }
+        int position = index * arrowsPerArcher + (round - 1) * arrowsPerRound;
+        int totalScore = totalScores[index];
+        int misses = totalMisses[index];
+        for (int point : points) {
+            // apply the delta with the points of any previous registration of this round
+            int previous = scores.get(position);
+            totalScore += point - previous;
+            if (previous == 0) misses--;
+            if (point == 0) misses++;
+            scores.put(position, (byte) point);
+            position++;
+        }
+        totalScores[index] = (short) totalScore;
+        totalMisses[index] = (short) misses;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    public String getFirstName(int index) {
+        return NameDictionary.FIRST_NAMES.nameOf(firstNameOrdinals[index]);
+    }
+
+    public String getLastName(int index) {
+        return NameDictionary.SURNAMES.nameOf(surnameOrdinals[index]);
+    }
+
+    /**
+     * @return  the alphabetical name key of the archer at index, identical to Archer.getNameKey
+     */
+    public int getNameKey(int index) {
+        return NameDictionary.SURNAMES.rankOf(surnameOrdinals[index]) << 16
+                | NameDictionary.FIRST_NAMES.rankOf(firstNameOrdinals[index]);
+    }
+
+    public int getTotalScore(int index) {
+        return totalScores[index];
+    }
+
+    public int getTotalMisses(int index) {
+        return totalMisses[index];
+    }
+
+    /**
+     * @param index the index of the archer in the store
+     * @param arrow the zero-based number of the arrow across all rounds
+     * @return  the points of the arrow
+     */
+    public int getScore(int index, int arrow) {
+        return scores.get(index * arrowsPerArcher + arrow);
+    }
+
+    /**
+     * @return  the ranking key of the archer at index, identical to Archer.getRankingKey
+     */
+    public long getRankingKey(int index) {
+        return (long) (0xFFFF - totalScores[index]) << 48
+                | (long) totalMisses[index] << 32
+                | (ids[index] & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Finds the index of the archer with the given id
+     * @param id
+     * @return  the index of the archer, or a negative number if the id is not in this store
+     */
+    public int indexOf(int id) {
+        // ids are claimed in increasing order, so are sorted by index
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * Ranks all archers in the store by the scoring scheme: highest total points -> least misses -> earliest registration
+     * by sorting their indices on their packed ranking keys as primitives
+     * The ranking keys are unique by the id in their lower bits, so the order of the indices is fully determined.
+     * The three-way partitioning of the quick sort would keep it O(n log n) on duplicate keys as well.
+     * @return  the indices of all archers in order of their ranking
+     */
+    public int[] rankedIndices() {
+        long[] keys = new long[size];
+        int[] ranking = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = getRankingKey(i);
+            ranking[i] = i;
+        }
+        return new LongSorter().quickSortIndices(ranking, keys);
+    }
+
+    /**
+     * Materialises the archer at index into an Archer instance with the same id, names and scores
+     * @param index
+     * @return
+     */
+    public Archer toArcher(int index) {
+        Archer archer = new Archer(ids[index], getFirstName(index), getLastName(index));
+        int[] points = new int[arrowsPerRound];
+        for (int round = 1; round <= arrowsPerArcher / arrowsPerRound; round++) {
+            for (int arrow = 0; arrow < arrowsPerRound; arrow++) {
+                points[arrow] = getScore(index, (round - 1) * arrowsPerRound + arrow);
+            }
+            archer.registerScoreForRound(round, points);
+        }
+        return archer;
+    }
+
+    /**
+     * @param size          the current size of a full store
+     * @param maxCapacity   the largest capacity whose scores fit in a single buffer
+     * @return  twice the size, clamped to maxCapacity
+     * @throws IllegalStateException    if the size is at maxCapacity already
+     */
+    static int grownCapacity(int size, int maxCapacity) {
+        if (size >= maxCapacity) {
+            throw new IllegalStateException("ArcherStore cannot hold more than " + maxCapacity + " archers");
+        }
+        return (int) Math.min(2L * size, maxCapacity);
+    }
+
+    private void allocate(int capacity) {
+        if ((long) capacity * arrowsPerArcher > Integer.MAX_VALUE) {
+            throw new IllegalStateException("ArcherStore cannot hold more than "
+                    + Integer.MAX_VALUE / arrowsPerArcher + " archers");
+        }
+        if (ids == null) {
+            ids = new int[capacity];
+            firstNameOrdinals = new short[capacity];
+            surnameOrdinals = new short[capacity];
+            totalScores = new short[capacity];
+            totalMisses = new short[capacity];
+            scores = ByteBuffer.allocateDirect(capacity * arrowsPerArcher);
+            return;
+        }
+        ids = Arrays.copyOf(ids, capacity);
+        firstNameOrdinals = Arrays.copyOf(firstNameOrdinals, capacity);
+        surnameOrdinals = Arrays.copyOf(surnameOrdinals, capacity);
+        totalScores = Arrays.copyOf(totalScores, capacity);
+        totalMisses = Arrays.copyOf(totalMisses, capacity);
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity * arrowsPerArcher);
+        grown.put(scores.duplicate().clear());
+        scores = grown;
+    }
+}
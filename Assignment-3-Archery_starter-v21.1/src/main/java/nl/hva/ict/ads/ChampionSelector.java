@@ -1,15 +1,47 @@
 package nl.hva.ict.ads;
 
 import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class ChampionSelector {
+    // the number of archers that is generated from a single random stream in parallel enrollment
+    public static final int ENROLLMENT_CHUNK_SIZE = 4096;
+
     private Random randomizer;
+    private SplittableRandom chunkRandomizer;
 
     private List<Archer> archers = new ArrayList<>();
     public List<Archer> getArchers() { return archers; }
 
+    private Leaderboard leaderboard;
+    public Leaderboard getLeaderboard() { return leaderboard; }
+
+    /**
+     * Starts maintaining a live leaderboard of the numTops best archers while the rounds are registered
+     * @param numTops   the size of the lead collection
+     * @return  the live leaderboard
+     */
+    public Leaderboard startLeaderboard(int numTops) {
+        leaderboard = new Leaderboard(numTops, archers);
+        return leaderboard;
+    }
+
+    private RankIndex rankIndex;
+    public RankIndex getRankIndex() { return rankIndex; }
+
+    /**
+     * Starts maintaining an index of the rank of every archer while the rounds are registered
+     * @return  the live rank index
+     */
+    public RankIndex startRankIndex() {
+        rankIndex = new RankIndex(archers);
+        return rankIndex;
+    }
+
     public ChampionSelector(long seed) {
         randomizer = new Random(seed);
+        chunkRandomizer = new SplittableRandom(seed);
         Names.reSeed(randomizer.nextLong());
     }
 
@@ -31,34 +63,136 @@ public class ChampionSelector {
     }
 
     /**
-     * Calculates and shows key results of the competition
+     * Enrolls all nrOfArchers into the champion selector like enrollArchers, using all cores of the machine.
+     * The archers are generated in chunks of ENROLLMENT_CHUNK_SIZE archers, each from its own random stream
+     * that is split from the seed of this champion selector in the order of the chunks.
+     * Thereby the same seed produces the same competition, regardless of the number of threads,
+     * although not the same competition as the sequential enrollArchers.
+     * The archers are assigned consecutive ids in the order of the list.
+     * @param nrOfArchers the number of archers to enroll.
+     * @return      the complete list of all archers that have been registered in this competition
      */
-    public void showResults() {
-        Sorter<Archer> sorter = new ArcherSorter();
-        System.out.printf("%d archers have participated in this competition\n", archers.size());
+    public List<Archer> enrollArchersInParallel(int nrOfArchers) {
+        int nrOfChunks = (nrOfArchers + ENROLLMENT_CHUNK_SIZE - 1) / ENROLLMENT_CHUNK_SIZE;
+        SplittableRandom[] chunkRandomizers = new SplittableRandom[nrOfChunks];
+        for (int c = 0; c < nrOfChunks; c++) {
+            chunkRandomizers[c] = chunkRandomizer.split();
+        }
+        int firstId = Archer.claimIds(nrOfArchers);
 
-        Collections.shuffle(archers);
-        sorter.selInsSort(archers, Comparator.comparing(Archer::getId));
-        System.out.printf("The first three archers to enroll were: %s\n", archers.subList(0,3));
+        Archer[] enrolled = new Archer[nrOfArchers];
+        IntStream.range(0, nrOfChunks).parallel().forEach(c -> {
+            SplittableRandom chunkRandom = chunkRandomizers[c];
+            int to = Math.min(nrOfArchers, (c + 1) * ENROLLMENT_CHUNK_SIZE);
+            for (int i = c * ENROLLMENT_CHUNK_SIZE; i < to; i++) {
+                Archer archer = new Archer(firstId + i,
+                        Names.firstName(chunkRandom.nextInt(Names.nrOfFirstNames())),
+                        Names.surname(chunkRandom.nextInt(Names.nrOfSurnames())));
+                for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+                    archer.registerScoreForRound(round, shootOneRound(chunkRandom));
+                }
+                enrolled[i] = archer;
+            }
+        });
 
-        sorter.selInsSort(archers, Comparator.comparing(Archer::getLastName).thenComparing(Archer::getFirstName));
-        System.out.printf("The first three archers by alphabet are: %s\n", archers.subList(0,3));
+        archers.addAll(Arrays.asList(enrolled));
+        if (leaderboard != null) {
+            leaderboard.rebuild();
+        }
+        if (rankIndex != null) {
+            rankIndex.addAll(Arrays.asList(enrolled));
+        }
+        return archers;
+    }
 
-        sorter.quickSort(archers, Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId);
-        System.out.printf("At 4th thru 10th place of the rankings we find: %s\n", archers.subList(3,10));
+    /**
+     * Enrolls all nrOfArchers into the columnar store of the competition
+     * Every archer is registered by id and the ordinals of its first name and last name.
+     * Every archer shoots all of its rounds and registers its scores in the store
+     * @param store the store that receives the archers
+     * @param nrOfArchers the number of archers to enroll.
+     * @return      the store with all archers that have been registered in this competition
+     */
+    public ArcherStore enrollArchers(ArcherStore store, int nrOfArchers) {
+        for (int i = 0; i < nrOfArchers; i++) {
+            int index = store.enroll(Names.nextFirstNameOrdinal(), Names.nextSurnameOrdinal());
+            letArcherShootAllRounds(store, index);
+        }
+        return store;
+    }
 
-        Collections.shuffle(archers);
-        sorter.topsHeapSort(3, archers, Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId);
-        System.out.printf("The top-3 price winners of the competition are: %s\n", archers.subList(0,3));
+    /**
+     * Calculates and shows key results of the competition, in a single pass over the archers
+     */
+    public void showResults() {
+        ResultsEngine results = new ResultsEngine();
+        archers.forEach(results);
+        results.printResults(System.out);
+    }
+
+    /**
+     * Calculates and shows key results of a competition of which the archers are streamed,
+     * keeping only the archers that are reported in memory
+     * @param archers   a sequential or parallel stream of archers
+     */
+    public void showResults(Stream<Archer> archers) {
+        archers.collect(ResultsEngine::new, ResultsEngine::accept, ResultsEngine::combine)
+                .printResults(System.out);
+    }
+
+    /**
+     * Generates nrOfArchers archers that shoot all of their rounds, on demand of the stream,
+     * without enrolling them into this champion selector
+     * @param nrOfArchers
+     * @return  a sequential stream of the generated archers
+     */
+    public Stream<Archer> generateArchers(long nrOfArchers) {
+        return Stream.generate(() -> {
+            Archer archer = new Archer(Names.nextFirstName(), Names.nextSurname());
+            for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+                archer.registerScoreForRound(round, shootOneRound());
+            }
+            return archer;
+        }).limit(nrOfArchers);
+    }
+
+    /**
+     * Calculates and shows key results of the competition from the columnar store, in a single pass over the store
+     * with the same reports as the other variants. Every archer is decoded transiently and only the archers that
+     * are reported are kept in memory
+     * @param store
+     */
+    public void showResults(ArcherStore store) {
+        this.showResults(IntStream.range(0, store.size()).mapToObj(store::toArcher));
     }
 
     /**
      * Simulates the archer shooting all rounds and register the scores confirmed by the judges
+     * The live leaderboard and rank index are updated after every round, in O(log numTops) and O(log n) each.
+     * Registered rounds only add points, so the leaderboard never needs to rebuild from the whole population here;
+     * a worsening correction costs O(n log numTops) only once per reserve of the leaderboard.
      * @param archer
      */
     public void letArcherShootAllRounds(Archer archer) {
         for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
             archer.registerScoreForRound(round, shootOneRound());
+            if (leaderboard != null) {
+                leaderboard.update(archer);
+            }
+            if (rankIndex != null) {
+                rankIndex.update(archer);
+            }
+        }
+    }
+
+    /**
+     * Simulates the archer at index in the store shooting all rounds and register the scores confirmed by the judges
+     * @param store
+     * @param index
+     */
+    public void letArcherShootAllRounds(ArcherStore store, int index) {
+        for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+            store.registerScoreForRound(index, round, shootOneRound());
         }
     }
 
@@ -73,4 +207,12 @@ public class ChampionSelector {
     private int shootOneArrow() {
         return randomizer.nextInt(11);
     }
+
+    private static int[] shootOneRound(SplittableRandom randomizer) {
+        int[] points = new int[Archer.MAX_ARROWS];
+        for (int arrow = 0; arrow < Archer.MAX_ARROWS; arrow++) {
+            points[arrow] = randomizer.nextInt(11);
+        }
+        return points;
+    }
 }
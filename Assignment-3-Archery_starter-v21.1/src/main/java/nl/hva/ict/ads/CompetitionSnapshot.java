@@ -0,0 +1,249 @@
+package nl.hva.ict.ads;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Versioned binary snapshot of a complete competition, which is reloaded by mapping the file into memory.
+ * The archers are decoded lazily from the mapping when they are accessed, so opening a snapshot only takes
+ * the time to read its header and name tables, regardless of the number of archers.
+ *
+ * The binary format (big-endian) is:
+ *      int MAGIC, int VERSION, int next id of Archer, int number of archers, long offset of the archer records,
+ *      the first name table and the surname table, each as: int number of names,
+ *          short length + UTF-8 bytes of every name, in the order of their ordinals in NameDictionary,
+ *      padding up to the 8-byte aligned offset of the archer records,
+ *      one record of RECORD_SIZE bytes for every archer:
+ *          int id, short first name ordinal, short surname ordinal, long + long packed scores of PackedScores
+ * The name tables map the ordinals in the file onto the ordinals of the NameDictionary of the reloading process.
+ * The next id is the first id above all archers in the snapshot. It is patched into the header together with
+ * the number of archers and the records offset once all records have been written.
+ * A snapshot is written to a temporary file which then replaces the file atomically, so readers never observe
+ * a partially written snapshot.
+ */
+public class CompetitionSnapshot {
+    public static final int MAGIC = 0x41524348; // "ARCH"
+    public static final int VERSION = 1;
+    public static final int RECORD_SIZE = Integer.BYTES + 2 * Short.BYTES + 2 * Long.BYTES;
+    // every mapped segment of archer records stays below the 2GB limit of a ByteBuffer
+    static final int RECORDS_PER_SEGMENT = 1 << 26;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final int nextId;
+    private final int size;
+    private final short[] firstNames;
+    private final short[] surnames;
+    private final MappedByteBuffer[] segments;
+
+    private CompetitionSnapshot(int nextId, int size, short[] firstNames, short[] surnames, MappedByteBuffer[] segments) {
+        this.nextId = nextId;
+        this.size = size;
+        this.firstNames = firstNames;
+        this.surnames = surnames;
+        this.segments = segments;
+    }
+
+    /**
+     * Writes a snapshot of the archers into the file, replacing any previous snapshot atomically
+     * @param file
+     * @param archers   the archers of the competition, which keep their order in the snapshot
+     * @throws IOException  if the file cannot be written
+     */
+    public static void write(Path file, Collection<Archer> archers) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            writeTo(temporary, archers);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeTo(Path file, Collection<Archer> archers) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            // the next id, number of archers and records offset are filled in when the records have been written
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(0).putInt(0).putLong(0L);
+            writeNames(channel, buffer, NameDictionary.FIRST_NAMES);
+            writeNames(channel, buffer, NameDictionary.SURNAMES);
+            if (buffer.remaining() < Long.BYTES) {
+                flush(channel, buffer);
+            }
+            long recordsOffset = (channel.position() + buffer.position() + Long.BYTES - 1) & -Long.BYTES;
+            while (channel.position() + buffer.position() < recordsOffset) {
+                buffer.put((byte) 0);
+            }
+
+            int nextId = Archer.FIRST_ID;
+            int size = 0;
+            for (Archer archer : archers) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    flush(channel, buffer);
+                }
+                nextId = Math.max(nextId, archer.getId() + 1);
+                size++;
+                buffer.putInt(archer.getId())
+                        .putShort(archer.getFirstNameOrdinal())
+                        .putShort(archer.getLastNameOrdinal())
+                        .putLong(archer.getLowScores())
+                        .putLong(archer.getHighScores());
+            }
+            flush(channel, buffer);
+
+            buffer.putInt(nextId).putInt(size).putLong(recordsOffset).flip();
+            long position = 2 * Integer.BYTES;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static void writeNames(FileChannel channel, ByteBuffer buffer, NameDictionary dictionary) throws IOException {
+        int nrOfNames = dictionary.size();
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(channel, buffer);
+        }
+        buffer.putInt(nrOfNames);
+        for (int ordinal = 0; ordinal < nrOfNames; ordinal++) {
+            byte[] name = dictionary.nameOf(ordinal).getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < Short.BYTES + name.length) {
+                flush(channel, buffer);
+            }
+            buffer.putShort((short) name.length).put(name);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Opens a snapshot by mapping the file into memory. The names of the snapshot are entered into the NameDictionary
+     * @param file
+     * @return  the snapshot, of which the archers are decoded on access
+     * @throws IOException  if the file cannot be read or is not a snapshot of a supported version
+     */
+    public static CompetitionSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer prologue = ByteBuffer.allocate(4 * Integer.BYTES + Long.BYTES);
+            while (prologue.hasRemaining() && channel.read(prologue) >= 0) {
+                // read until the fixed fields are complete or the file ends
+            }
+            prologue.flip();
+            if (prologue.remaining() < prologue.capacity() || prologue.getInt() != MAGIC) {
+                throw new IOException(file + " is not a competition snapshot");
+            }
+            int version = prologue.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + " has unsupported snapshot version " + version);
+            }
+            int nextId = prologue.getInt();
+            int size = prologue.getInt();
+            long recordsOffset = prologue.getLong();
+            if (recordsOffset < prologue.capacity() || recordsOffset + (long) size * RECORD_SIZE > channel.size()) {
+                throw new IOException(file + " is truncated, it should hold " + size + " archers");
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, prologue.capacity(),
+                    recordsOffset - prologue.capacity());
+            short[] firstNames = readNames(header, NameDictionary.FIRST_NAMES);
+            short[] surnames = readNames(header, NameDictionary.SURNAMES);
+
+            MappedByteBuffer[] segments = new MappedByteBuffer[(size + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT];
+            for (int s = 0; s < segments.length; s++) {
+                long records = Math.min(RECORDS_PER_SEGMENT, size - (long) s * RECORDS_PER_SEGMENT);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        recordsOffset + (long) s * RECORDS_PER_SEGMENT * RECORD_SIZE, records * RECORD_SIZE);
+            }
+            // the mappings remain valid after the channel has been closed
+            return new CompetitionSnapshot(nextId, size, firstNames, surnames, segments);
+        }
+    }
+
+    /**
+     * Reads a name table and finds the ordinal in the dictionary of every name
+     * @return  the ordinals in the dictionary, indexed by the ordinals in the snapshot
+     */
+    private static short[] readNames(ByteBuffer buffer, NameDictionary dictionary) {
+        short[] ordinals = new short[buffer.getInt()];
+        byte[] name = new byte[0xFFFF];
+        for (int i = 0; i < ordinals.length; i++) {
+            int length = buffer.getShort() & 0xFFFF;
+            buffer.get(name, 0, length);
+            ordinals[i] = (short) dictionary.ordinalOf(new String(name, 0, length, StandardCharsets.UTF_8));
+        }
+        return ordinals;
+    }
+
+    /**
+     * @return  the first id above the ids of all archers in the snapshot
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Continues the id administration of Archer from the snapshot, such that new archers get fresh ids
+     */
+    public void restoreNextId() {
+        Archer.advanceNextId(nextId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes the archer at the index from the mapped file
+     * @param index
+     * @return  a new instance of the archer at index
+     */
+    public Archer getArcher(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for " + size + " archers");
+        }
+        ByteBuffer segment = segments[index / RECORDS_PER_SEGMENT];
+        int offset = (index % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+        return new Archer(segment.getInt(offset),
+                firstNames[segment.getShort(offset + Integer.BYTES)],
+                surnames[segment.getShort(offset + Integer.BYTES + Short.BYTES)],
+                segment.getLong(offset + Integer.BYTES + 2 * Short.BYTES),
+                segment.getLong(offset + Integer.BYTES + 2 * Short.BYTES + Long.BYTES));
+    }
+
+    /**
+     * @return  a read-only list view of the archers, which decodes an archer on every access
+     */
+    public List<Archer> getArchers() {
+        return new ArcherView();
+    }
+
+    private final class ArcherView extends AbstractList<Archer> implements RandomAccess {
+        @Override
+        public Archer get(int index) {
+            return CompetitionSnapshot.this.getArcher(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
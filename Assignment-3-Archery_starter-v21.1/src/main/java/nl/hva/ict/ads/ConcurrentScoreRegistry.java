@@ -0,0 +1,116 @@
+package nl.hva.ict.ads;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of archers and their scores that can be used by many judging terminals at once.
+ *  - enrollment appends to a concurrent map by id, without a global lock
+ *  - score submissions for an archer are serialised by one of a set of lock stripes, selected by the archer id,
+ *    such that submissions for different archers proceed in parallel
+ * All changes to the scores of an enrolled archer shall be made through this registry.
+ */
+public class ConcurrentScoreRegistry {
+    public static final int DEFAULT_STRIPES = 64 * Runtime.getRuntime().availableProcessors();
+
+    private final ConcurrentHashMap<Integer, Archer> archers = new ConcurrentHashMap<>();
+    private final Object[] stripes;
+
+    public ConcurrentScoreRegistry() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param nrOfStripes   the number of locks that guard the scores of the archers
+     */
+    public ConcurrentScoreRegistry(int nrOfStripes) {
+        if (nrOfStripes <= 0) {
+            throw new IllegalArgumentException("nrOfStripes must be positive, but was " + nrOfStripes);
+        }
+        stripes = new Object[nrOfStripes];
+        for (int i = 0; i < nrOfStripes; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Enrolls a new archer with a unique id
+     * @param firstName the archers first name.
+     * @param lastName the archers surname.
+     * @return  the enrolled archer
+     */
+    public Archer enroll(String firstName, String lastName) {
+        Archer archer = new Archer(firstName, lastName);
+        archers.put(archer.getId(), archer);
+        return archer;
+    }
+
+    /**
+     * Enrolls an existing archer
+     * @param archer
+     */
+    public void enroll(Archer archer) {
+        archers.put(archer.getId(), archer);
+    }
+
+    /**
+     * Registers the points for each of the arrows that have been shot by an archer during a round.
+     * @param archerId the id of the archer that shot the arrows
+     * @param round the round for which to register the points. First round has number 1.
+     * @param points the points shot during the round, one for each arrow.
+     */
+    public void submitScore(int archerId, int round, int[] points) {
+        Archer archer = this.getArcher(archerId);
+        synchronized (this.stripeOf(archerId)) {
+            archer.registerScoreForRound(round, points);
+        }
+    }
+
+    /**
+     * @param archerId
+     * @return  the total score of the archer, consistent with all completed submissions
+     */
+    public int getTotalScore(int archerId) {
+        Archer archer = this.getArcher(archerId);
+        synchronized (this.stripeOf(archerId)) {
+            return archer.getTotalScore();
+        }
+    }
+
+    /**
+     * @param archerId
+     * @return  the total misses of the archer, consistent with all completed submissions
+     */
+    public int getTotalMisses(int archerId) {
+        Archer archer = this.getArcher(archerId);
+        synchronized (this.stripeOf(archerId)) {
+            return archer.getTotalMisses();
+        }
+    }
+
+    public Archer getArcher(int archerId) {
+        Archer archer = archers.get(archerId);
+        if (archer == null) {
+            throw new IllegalArgumentException("No archer has been enrolled with id " + archerId);
+        }
+        return archer;
+    }
+
+    public int size() {
+        return archers.size();
+    }
+
+    /**
+     * @return  a new list with all archers that have been enrolled so far
+     */
+    public List<Archer> getArchers() {
+        Collection<Archer> enrolled = archers.values();
+        return new ArrayList<>(enrolled);
+    }
+
+    private Object stripeOf(int archerId) {
+        return stripes[Math.floorMod(archerId, stripes.length)];
+    }
+}
@@ -0,0 +1,298 @@
+package nl.hva.ict.ads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Sorts streams of archers that do not fit in memory, by external merge sort:
+ *  - the archers from the source are collected into runs of at most runSize archers
+ *  - every run is sorted in memory by the Sorter engine and spilled to a temporary file in a compact binary encoding
+ *  - the runs are merged with a heap of the next archer of every run into the sink,
+ *    in multiple passes if there are more runs than fit in the buffer budget
+ * All file I/O passes through direct buffers on file channels, which share the bufferBudget.
+ * The runs are written one at a time, so all run files of a sort are written through the same buffer.
+ *
+ * The binary encoding of an archer is:
+ *      int id, short length + UTF-8 bytes of first name, short length + UTF-8 bytes of last name,
+ *      one byte of points for every arrow across all rounds
+ */
+public class ExternalArcherSorter {
+    public static final int DEFAULT_RUN_SIZE = 1_000_000;
+    public static final int DEFAULT_BUFFER_BUDGET = 64 * 1024 * 1024;
+    public static final int MIN_BUFFER_SIZE = 64 * 1024;
+
+    private final Sorter<Archer> sorter;
+    private final int runSize;
+    private final int bufferBudget;
+    private final Path tempDirectory;
+    private final int arrowsPerRound = Archer.MAX_ARROWS;
+    private final int arrowsPerArcher = Archer.MAX_ARROWS * Archer.MAX_ROUNDS;
+
+    public ExternalArcherSorter(Path tempDirectory) {
+        this(new ArcherSorter(), DEFAULT_RUN_SIZE, DEFAULT_BUFFER_BUDGET, tempDirectory);
+    }
+
+    /**
+     * @param sorter        the engine that sorts the runs in memory
+     * @param runSize       the maximum number of archers that are kept in memory to be sorted as one run
+     * @param bufferBudget  the number of bytes that may be used for I/O buffers, at least 3 * MIN_BUFFER_SIZE
+     * @param tempDirectory the directory that receives the temporary run files
+     */
+    public ExternalArcherSorter(Sorter<Archer> sorter, int runSize, int bufferBudget, Path tempDirectory) {
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("runSize must be positive, but was " + runSize);
+        }
+        if (bufferBudget < 3 * MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferBudget must be at least " + 3 * MIN_BUFFER_SIZE + ", but was " + bufferBudget);
+        }
+        this.sorter = sorter;
+        this.runSize = runSize;
+        this.bufferBudget = bufferBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sorts all archers from the source into the sink according to the comparator
+     * @param source        provides the archers to be sorted
+     * @param comparator
+     * @param sink          receives all archers in sorted order
+     * @return              the number of archers that have been sorted
+     * @throws IOException  if the temporary run files cannot be written or read
+     */
+    public long sort(Iterator<Archer> source, Comparator<Archer> comparator, Consumer<Archer> sink) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        // every temporary file that has been created, which are all deleted when the sort ends or fails
+        List<Path> runFiles = new ArrayList<>();
+        int maxFanIn = bufferBudget / MIN_BUFFER_SIZE - 1;
+        // allocated on the first spill, sized as the share of the writer in a merge of maxFanIn runs
+        ByteBuffer writeBuffer = null;
+        try {
+            long count = 0;
+            List<Archer> run = new ArrayList<>(Math.min(runSize, 1 << 16));
+            while (source.hasNext()) {
+                run.add(source.next());
+                count++;
+                if (run.size() == runSize || !source.hasNext()) {
+                    sorter.quickSort(run, comparator);
+                    if (runs.isEmpty() && !source.hasNext()) {
+                        // all archers fit into a single run, no need to spill
+                        run.forEach(sink);
+                        return count;
+                    }
+                    if (writeBuffer == null) {
+                        writeBuffer = ByteBuffer.allocateDirect(this.bufferSize(maxFanIn));
+                    }
+                    runs.add(this.spill(run, writeBuffer, runFiles));
+                    run.clear();
+                }
+            }
+
+            // merge groups of runs into longer runs until all runs can be merged into the sink at once
+            while (runs.size() > maxFanIn) {
+                List<Path> mergedRuns = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += maxFanIn) {
+                    List<Path> group = runs.subList(from, Math.min(runs.size(), from + maxFanIn));
+                    Path merged = this.createRunFile(runFiles);
+                    mergedRuns.add(merged);
+                    try (RunWriter writer = new RunWriter(merged, writeBuffer)) {
+                        this.merge(group, comparator, writer::write);
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                    this.delete(group);
+                }
+                runs = mergedRuns;
+            }
+            this.merge(runs, comparator, sink);
+            return count;
+        } finally {
+            this.delete(runFiles);
+        }
+    }
+
+    private Path createRunFile(List<Path> runFiles) throws IOException {
+        Path file = Files.createTempFile(tempDirectory, "archers", ".run");
+        runFiles.add(file);
+        return file;
+    }
+
+    private Path spill(List<Archer> run, ByteBuffer buffer, List<Path> runFiles) throws IOException {
+        Path file = this.createRunFile(runFiles);
+        try (RunWriter writer = new RunWriter(file, buffer)) {
+            for (Archer archer : run) {
+                writer.write(archer);
+            }
+        }
+        return file;
+    }
+
+    private void merge(List<Path> runs, Comparator<Archer> comparator, Consumer<Archer> sink) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        // the heap holds the next archer of every run that has not been exhausted yet
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                (r1, r2) -> comparator.compare(r1.next, r2.next));
+        try {
+            int bufferSize = this.bufferSize(runs.size());
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run, bufferSize);
+                readers.add(reader);
+                if (reader.advance()) heap.add(reader);
+            }
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                sink.accept(reader.next);
+                if (reader.advance()) heap.add(reader);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private int bufferSize(int nrOfRuns) {
+        // share the budget between the readers of all runs and one writer
+        return Math.max(MIN_BUFFER_SIZE, bufferBudget / (nrOfRuns + 1));
+    }
+
+    private void delete(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path file, ByteBuffer buffer) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = buffer;
+            buffer.clear();
+        }
+
+        void write(Archer archer) {
+            byte[] firstName = archer.getFirstName().getBytes(StandardCharsets.UTF_8);
+            byte[] lastName = archer.getLastName().getBytes(StandardCharsets.UTF_8);
+            try {
+                if (buffer.remaining() < Integer.BYTES + 2 * Short.BYTES + firstName.length + lastName.length + arrowsPerArcher) {
+                    this.flush();
+                }
+                buffer.putInt(archer.getId());
+                buffer.putShort((short) firstName.length).put(firstName);
+                buffer.putShort((short) lastName.length).put(lastName);
+                for (int arrow = 0; arrow < arrowsPerArcher; arrow++) {
+                    buffer.put((byte) archer.getScore(arrow));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private class RunReader implements AutoCloseable {
+        private final Path file;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private Archer next;
+
+        RunReader(Path file, int bufferSize) throws IOException {
+            this.file = file;
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+            buffer.flip();
+        }
+
+        /**
+         * Decodes the next archer of the run
+         * @return  false if the run has been exhausted
+         */
+        boolean advance() throws IOException {
+            if (!this.fill(Integer.BYTES)) {
+                next = null;
+                return false;
+            }
+            int id = buffer.getInt();
+            String firstName = this.readName();
+            String lastName = this.readName();
+            this.require(arrowsPerArcher);
+            next = new Archer(id, firstName, lastName);
+            int[] points = new int[arrowsPerRound];
+            for (int round = 1; round <= arrowsPerArcher / arrowsPerRound; round++) {
+                for (int arrow = 0; arrow < arrowsPerRound; arrow++) {
+                    points[arrow] = buffer.get();
+                }
+                next.registerScoreForRound(round, points);
+            }
+            return true;
+        }
+
+        private String readName() throws IOException {
+            this.require(Short.BYTES);
+            byte[] name = new byte[buffer.getShort()];
+            this.require(name.length);
+            buffer.get(name);
+            return new String(name, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Makes sure that the buffer holds at least the given number of bytes, unless the run is exhausted
+         */
+        private boolean fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return true;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            if (buffer.remaining() >= bytes) return true;
+            if (buffer.hasRemaining()) throw this.truncated();
+            return false;
+        }
+
+        /**
+         * Makes sure that the buffer holds at least the given number of bytes within the current archer
+         */
+        private void require(int bytes) throws IOException {
+            if (!this.fill(bytes)) throw this.truncated();
+        }
+
+        private IOException truncated() {
+            return new IOException("Run file " + file + " has been truncated");
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
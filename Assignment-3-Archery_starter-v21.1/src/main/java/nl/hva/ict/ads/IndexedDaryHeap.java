@@ -0,0 +1,304 @@
+package nl.hva.ict.ads;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Array-backed (zero-based) d-ary heap with its smallest element according to the comparator at the root.
+ * The heap indexes the position of every element, such that the element itself serves as handle
+ * to reposition it after its key has changed, in O(log_d n) by decreaseKey or increaseKey.
+ * Heaps that need no handles, such as bounded selections that only add and poll, can be created unindexed:
+ * they keep no position index, so moving an element costs a plain array store instead of a hash map update.
+ * A 4-ary heap is half as deep as a binary heap and examines its children in adjacent array slots,
+ * which makes it the faster choice when sinks dominate, as in a bounded lead collection.
+ *
+ * The swim and sink operations are also provided for heaps that are organised in the first positions of a list,
+ * as used by the topsHeapSort of SorterImpl.
+ * @param <E>
+ */
+public class IndexedDaryHeap<E> {
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final Comparator<? super E> comparator;
+    // null if the heap is unindexed
+    private final Map<E, Integer> positions;
+    private final Slots slots = new Slots();
+
+    public IndexedDaryHeap(Comparator<? super E> comparator) {
+        this(DEFAULT_ARITY, comparator);
+    }
+
+    public IndexedDaryHeap(int arity, Comparator<? super E> comparator) {
+        this(arity, comparator, true);
+    }
+
+    /**
+     * @param arity         the number of children of every node of the heap
+     * @param comparator    the ordening of the heap, its smallest element is at the root
+     * @param indexed       whether the heap indexes the position of every element, which is required by
+     *                      contains, remove, decreaseKey, increaseKey and update
+     */
+    public IndexedDaryHeap(int arity, Comparator<? super E> comparator, boolean indexed) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be at least 2, but was " + arity);
+        }
+        this.arity = arity;
+        this.comparator = comparator;
+        this.positions = indexed ? new HashMap<>() : null;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public boolean isIndexed() {
+        return positions != null;
+    }
+
+    public int size() {
+        return slots.size;
+    }
+
+    public boolean isEmpty() {
+        return slots.size == 0;
+    }
+
+    public boolean contains(E element) {
+        return this.positions().containsKey(element);
+    }
+
+    /**
+     * Adds the element to the heap
+     * @param element   an element that is not contained in the heap yet, which is only checked if the heap is indexed
+     */
+    public void add(E element) {
+        if (positions != null && positions.containsKey(element)) {
+            throw new IllegalArgumentException("element is in the heap already: " + element);
+        }
+        int index = slots.append(element);
+        swim(slots, index, arity, comparator);
+    }
+
+    /**
+     * @return  the smallest element, or null if the heap is empty
+     */
+    public E peek() {
+        return slots.size == 0 ? null : slots.get(0);
+    }
+
+    /**
+     * Removes the smallest element
+     * @return  the smallest element, or null if the heap is empty
+     */
+    public E poll() {
+        if (slots.size == 0) return null;
+        E root = slots.get(0);
+        this.removeAt(0);
+        return root;
+    }
+
+    /**
+     * Removes the element from the heap
+     * @param element
+     * @return  whether the element was contained in the heap
+     */
+    public boolean remove(E element) {
+        Integer index = this.positions().get(element);
+        if (index == null) return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    /**
+     * Repositions the element after it has become smaller according to the comparator
+     * @param element
+     */
+    public void decreaseKey(E element) {
+        swim(slots, this.positionOf(element), arity, comparator);
+    }
+
+    /**
+     * Repositions the element after it has become larger according to the comparator
+     * @param element
+     */
+    public void increaseKey(E element) {
+        sink(slots, this.positionOf(element), slots.size, arity, comparator);
+    }
+
+    /**
+     * Repositions the element after it has changed in either direction
+     * @param element
+     */
+    public void update(E element) {
+        int index = this.positionOf(element);
+        if (swim(slots, index, arity, comparator) == index) {
+            sink(slots, index, slots.size, arity, comparator);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(slots.elements, 0, slots.size, null);
+        slots.size = 0;
+        if (positions != null) {
+            positions.clear();
+        }
+    }
+
+    /**
+     * @return  a copy of all elements, in arbitrary order
+     */
+    public List<E> toList() {
+        return new ArrayList<>(slots);
+    }
+
+    private Map<E, Integer> positions() {
+        if (positions == null) {
+            throw new UnsupportedOperationException("the heap is unindexed, so elements cannot serve as handle");
+        }
+        return positions;
+    }
+
+    private int positionOf(E element) {
+        Integer index = this.positions().get(element);
+        if (index == null) {
+            throw new NoSuchElementException("element is not in the heap: " + element);
+        }
+        return index;
+    }
+
+    private void removeAt(int index) {
+        E removed = slots.get(index);
+        E last = slots.removeLast();
+        if (positions != null) {
+            positions.remove(removed);
+        }
+        if (index < slots.size) {
+            // the last element takes the vacant position and may need to move either way
+            slots.set(index, last);
+            if (swim(slots, index, arity, comparator) == index) {
+                sink(slots, index, slots.size, arity, comparator);
+            }
+        }
+    }
+
+    /**
+     * Repairs the zero-based d-ary heap condition for items[index],
+     * assuming that all other items in the heap satisfy the heap condition
+     * The zero-based d-ary heap condition says:  all items[i] >= items[(i-1)/arity]
+     * @param items
+     * @param index     the position of the item that may be smaller than its parent
+     * @param arity
+     * @param comparator
+     * @return  the final position of the item
+     */
+    static <E> int swim(List<E> items, int index, int arity, Comparator<? super E> comparator) {
+        // swim items[index] up the heap until
+        //      i==0 || items[(i-1)/arity] <= items[i]
+        int i = index;
+        E item = items.get(i);
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            E parentItem = items.get(parent);
+            if (comparator.compare(parentItem, item) <= 0) break;
+            items.set(i, parentItem);
+            i = parent;
+        }
+        if (i != index) {
+            items.set(i, item);
+        }
+        return i;
+    }
+
+    /**
+     * Repairs the zero-based d-ary heap condition for items[index] in a heap of heapSize items,
+     * assuming that all other items in the heap satisfy the heap condition
+     * @param items
+     * @param index     the position of the item that may be larger than its children
+     * @param heapSize
+     * @param arity
+     * @param comparator
+     * @return  the final position of the item
+     */
+    static <E> int sink(List<E> items, int index, int heapSize, int arity, Comparator<? super E> comparator) {
+        // sink items[index] down the heap until
+        //      arity*i+1 >= heapSize || items[i] <= all items[arity*i+1 .. arity*i+arity]
+        int i = index;
+        E item = items.get(i);
+        int firstChild = arity * i + 1;
+        while (firstChild < heapSize) {
+            // find the smallest child
+            int child = firstChild;
+            E childItem = items.get(child);
+            int lastChild = Math.min(firstChild + arity, heapSize);
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                E siblingItem = items.get(c);
+                if (comparator.compare(siblingItem, childItem) < 0) {
+                    child = c;
+                    childItem = siblingItem;
+                }
+            }
+            if (comparator.compare(item, childItem) <= 0) break;
+            items.set(i, childItem);
+            i = child;
+            firstChild = arity * i + 1;
+        }
+        if (i != index) {
+            items.set(i, item);
+        }
+        return i;
+    }
+
+    /**
+     * Growable array of the heap elements that records the position of every element that is placed into it
+     * if the heap is indexed, such that swim and sink maintain the position index as they move elements around
+     */
+    private final class Slots extends AbstractList<E> implements RandomAccess {
+        private Object[] elements = new Object[16];
+        private int size = 0;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            return (E) elements[index];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E set(int index, E element) {
+            E previous = (E) elements[index];
+            elements[index] = element;
+            if (positions != null) {
+                positions.put(element, index);
+            }
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        int append(E element) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, 2 * size);
+            }
+            size++;
+            this.set(size - 1, element);
+            return size - 1;
+        }
+
+        E removeLast() {
+            E last = this.get(--size);
+            elements[size] = null;
+            return last;
+        }
+    }
+}
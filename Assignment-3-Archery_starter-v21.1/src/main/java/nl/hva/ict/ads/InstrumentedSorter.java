@@ -0,0 +1,165 @@
+package nl.hva.ict.ads;
+
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sorter decorator that measures every call to the sorter that it wraps, and publishes the metrics as
+ * operations named "name.method" in a SortMetrics registry:
+ *  - comparator invocations, counted by a wrapping comparator
+ *  - element reads and writes on the provided list, counted by a wrapping list
+ *    (sorters that run on an array snapshot only access the list for the snapshot and the write back)
+ *  - the wall time of the call
+ * Counting costs a single striped counter increment per comparison or access, without allocation.
+ * @param <E>
+ */
+public class InstrumentedSorter<E> implements Sorter<E> {
+    private final Sorter<E> sorter;
+    private final String name;
+    private final SortMetrics metrics;
+
+    public InstrumentedSorter(Sorter<E> sorter, SortMetrics metrics) {
+        this(sorter, sorter.getClass().getSimpleName(), metrics);
+    }
+
+    /**
+     * @param sorter    the sorter to be measured
+     * @param name      the prefix of the names of the operations in the metrics registry
+     * @param metrics   the registry that receives the metrics
+     */
+    public InstrumentedSorter(Sorter<E> sorter, String name, SortMetrics metrics) {
+        this.sorter = sorter;
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public List<E> selInsSort(List<E> items, Comparator<E> comparator) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".selInsSort");
+        return this.measure(operation, items, list -> sorter.selInsSort(list, counting(comparator, operation)));
+    }
+
+    @Override
+    public List<E> quickSort(List<E> items, Comparator<E> comparator) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".quickSort");
+        return this.measure(operation, items, list -> sorter.quickSort(list, counting(comparator, operation)));
+    }
+
+    @Override
+    public List<E> topsHeapSort(int numTops, List<E> items, Comparator<E> comparator) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".topsHeapSort");
+        return this.measure(operation, items, list -> sorter.topsHeapSort(numTops, list, counting(comparator, operation)));
+    }
+
+    @Override
+    public List<E> selectRange(List<E> items, int fromRank, int toRank, Comparator<E> comparator) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".selectRange");
+        return this.measure(operation, items, list -> sorter.selectRange(list, fromRank, toRank, counting(comparator, operation)));
+    }
+
+    /**
+     * The items are sorted lazily while the iterator advances, so the recorded wall time only covers the creation
+     * of the iterator and the snapshot of the items, whereas all comparisons of the iteration are counted
+     */
+    @Override
+    public Iterator<E> sortedIterator(List<E> items, Comparator<E> comparator) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".sortedIterator");
+        long start = System.nanoTime();
+        try {
+            return sorter.sortedIterator(items, counting(comparator, operation));
+        } finally {
+            operation.recordCall(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<E> mergeSort(List<E> items, Comparator<E> comparator) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".mergeSort");
+        return this.measure(operation, items, list -> sorter.mergeSort(list, counting(comparator, operation)));
+    }
+
+    @Override
+    public List<E> sortByLongKey(List<E> items, ToLongFunction<E> keyExtractor) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".sortByLongKey");
+        return this.measure(operation, items, list -> sorter.sortByLongKey(list, keyExtractor));
+    }
+
+    @Override
+    public List<E> sortByIntKey(List<E> items, ToIntFunction<E> keyExtractor) {
+        SortMetrics.OperationMetrics operation = metrics.operation(name + ".sortByIntKey");
+        return this.measure(operation, items, list -> sorter.sortByIntKey(list, keyExtractor));
+    }
+
+    private List<E> measure(SortMetrics.OperationMetrics operation, List<E> items, UnaryOperator<List<E>> call) {
+        List<E> countingItems = items instanceof RandomAccess
+                ? new RandomAccessCountingList<>(items, operation.readCounter(), operation.writeCounter())
+                : new CountingList<>(items, operation.readCounter(), operation.writeCounter());
+        long start = System.nanoTime();
+        try {
+            call.apply(countingItems);
+        } finally {
+            operation.recordCall(System.nanoTime() - start);
+        }
+        return items;
+    }
+
+    private static <E> Comparator<E> counting(Comparator<E> comparator, SortMetrics.OperationMetrics operation) {
+        LongAdder comparisons = operation.comparisonCounter();
+        return (item1, item2) -> {
+            comparisons.increment();
+            return comparator.compare(item1, item2);
+        };
+    }
+
+    private static class CountingList<E> extends AbstractList<E> {
+        private final List<E> items;
+        private final LongAdder reads;
+        private final LongAdder writes;
+
+        CountingList(List<E> items, LongAdder reads, LongAdder writes) {
+            this.items = items;
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        @Override
+        public E get(int index) {
+            reads.increment();
+            return items.get(index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            writes.increment();
+            return items.set(index, element);
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public Object[] toArray() {
+            reads.add(items.size());
+            return items.toArray();
+        }
+    }
+
+    private static class RandomAccessCountingList<E> extends CountingList<E> implements RandomAccess {
+        RandomAccessCountingList(List<E> items, LongAdder reads, LongAdder writes) {
+            super(items, reads, writes);
+        }
+    }
+}
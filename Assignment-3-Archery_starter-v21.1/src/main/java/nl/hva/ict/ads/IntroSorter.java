@@ -0,0 +1,98 @@
+package nl.hva.ict.ads;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorter with an introspective quick sort engine that guarantees O(n log n) on any input:
+ *  - the pivot is the median of three items, or the ninther (median of three medians) on larger partitions
+ *  - the partitioning stops at items equal to the pivot, such that runs of equal items are split evenly
+ *  - partitions of up to INSERTION_SORT_CUTOFF items are finished by insertion sort
+ *  - partitions that are still unsorted after a recursion depth of 2*log(n) are finished by heap sort
+ * Items are sorted 'in place', on an array snapshot of the list unless isInPlace()
+ * @param <E>
+ */
+public class IntroSorter<E>
+        extends SorterImpl<E>
+        implements Sorter<E> {
+
+    public static final int INSERTION_SORT_CUTOFF = 16;
+    public static final int NINTHER_CUTOFF = 40;
+
+    /**
+     * Sorts all items between index positions 'from' and 'to' inclusive by introspective quick sort
+     * @param items
+     * @param from
+     * @param to
+     * @param comparator
+     */
+    @Override
+    protected void quickSortPart(List<E> items, int from, int to, Comparator<E> comparator) {
+        if (from < to) {
+            this.introSortPart(items, from, to, 2 * floorLog2(to - from + 1), comparator);
+        }
+    }
+
+    /**
+     * Sorts all items between index positions 'from' and 'to' inclusive by quick sort,
+     * switching to heap sort once depthLimit partitioning levels have been used up
+     * @param items
+     * @param from
+     * @param to
+     * @param depthLimit    the number of partitioning levels that remain before heap sort takes over
+     * @param comparator
+     */
+    protected void introSortPart(List<E> items, int from, int to, int depthLimit, Comparator<E> comparator) {
+        while (to - from >= INSERTION_SORT_CUTOFF) {
+            if (depthLimit == 0) {
+                // the pivots have been unlucky too often, avoid quadratic behaviour
+                this.heapSortPart(items, from, to, comparator);
+                return;
+            }
+            depthLimit--;
+            int pivotIndex = this.quickSortPartition(items, from, to, comparator);
+            // recurse into the smaller part and iterate on the larger part to limit the stack depth
+            if (pivotIndex - from < to - pivotIndex) {
+                this.introSortPart(items, from, pivotIndex - 1, depthLimit, comparator);
+                from = pivotIndex + 1;
+            } else {
+                this.introSortPart(items, pivotIndex + 1, to, depthLimit, comparator);
+                to = pivotIndex - 1;
+            }
+        }
+        this.insertionSortPart(items, from, to, comparator);
+    }
+
+    /**
+     * Chooses the median of three items, or the ninther (median of three medians) on larger partitions, as pivot
+     * @param items
+     * @param from
+     * @param to
+     * @param comparator
+     * @return  the index position of the pivot item
+     */
+    @Override
+    protected int quickSortPivot(List<E> items, int from, int to, Comparator<E> comparator) {
+        int size = to - from + 1;
+        int middle = from + size / 2;
+        if (size <= NINTHER_CUTOFF) {
+            return medianOfThree(items, from, middle, to, comparator);
+        }
+        int eighth = size / 8;
+        return medianOfThree(items,
+                medianOfThree(items, from, from + eighth, from + 2 * eighth, comparator),
+                medianOfThree(items, middle - eighth, middle, middle + eighth, comparator),
+                medianOfThree(items, to - 2 * eighth, to - eighth, to, comparator),
+                comparator);
+    }
+
+    private int medianOfThree(List<E> items, int i, int j, int k, Comparator<E> comparator) {
+        E a = items.get(i), b = items.get(j), c = items.get(k);
+        if (comparator.compare(a, b) < 0) {
+            if (comparator.compare(b, c) < 0) return j;
+            return comparator.compare(a, c) < 0 ? k : i;
+        }
+        if (comparator.compare(a, c) < 0) return i;
+        return comparator.compare(b, c) < 0 ? k : j;
+    }
+}
@@ -0,0 +1,158 @@
+package nl.hva.ict.ads;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live leaderboard of the numTops best archers of a competition, according to the scoring scheme:
+ * highest total points -> least misses -> earliest registration.
+ * The lead collection is kept in an IndexedDaryHeap by ranking key with the currently trailing archer at its root,
+ * together with the ranking key of every archer in the lead collection at its last update.
+ * The heap holds a reserve of archers beyond numTops, such that every archer outside the heap ranks behind
+ * all archers in the heap, and only the best numTops archers in the heap are reported.
+ * Every registered score that improves the ranking of an archer is processed in O(log numTops).
+ * A correction that worsens the ranking of an archer in the heap is processed in O(log numTops) as well,
+ * unless the archer drops behind the trailing archer and is evicted from the reserve.
+ * Only when the reserve has run out, the heap is rebuilt from the population in O(n log numTops).
+ */
+public class Leaderboard {
+    private final int numTops;
+    private final int capacity;
+    private final Collection<Archer> population;
+
+    // the heap is ordered by descending ranking key, so the trailing archer is at its root
+    private final IndexedDaryHeap<Archer> lead =
+            new IndexedDaryHeap<>(Comparator.comparingLong(Archer::getRankingKey).reversed());
+    private final Map<Archer, Long> leadKeys = new HashMap<>();
+    // whether the heap holds the complete population, since no archer has been skipped or evicted
+    private boolean complete;
+
+    /**
+     * Creates a leaderboard with a reserve of numTops archers
+     * @param numTops       the size of the lead collection
+     * @param population    all archers that compete for the lead, which is scanned when the lead needs to be rebuilt
+     */
+    public Leaderboard(int numTops, Collection<Archer> population) {
+        this(numTops, numTops, population);
+    }
+
+    /**
+     * @param numTops       the size of the lead collection
+     * @param reserve       the number of archers beyond numTops that is kept, which is the number of leading archers
+     *                      that may drop out of the heap by corrections before it is rebuilt from the population
+     * @param population    all archers that compete for the lead, which is scanned when the lead needs to be rebuilt
+     */
+    public Leaderboard(int numTops, int reserve, Collection<Archer> population) {
+        if (numTops <= 0) {
+            throw new IllegalArgumentException("numTops must be positive, but was " + numTops);
+        }
+        if (reserve < 0) {
+            throw new IllegalArgumentException("reserve cannot be negative, but was " + reserve);
+        }
+        this.numTops = numTops;
+        this.capacity = (int) Math.min((long) numTops + reserve, Integer.MAX_VALUE);
+        this.population = population;
+        this.rebuild();
+    }
+
+    /**
+     * Registers the points of a round with the archer and updates the leaderboard accordingly
+     * @param archer
+     * @param round the round for which to register the points. First round has number 1.
+     * @param points the points shot during the round, one for each arrow.
+     */
+    public void registerScoreForRound(Archer archer, int round, int[] points) {
+        archer.registerScoreForRound(round, points);
+        this.update(archer);
+    }
+
+    /**
+     * Repositions the archer on the leaderboard after its scores have changed, or considers it for the lead
+     * @param archer
+     */
+    public void update(Archer archer) {
+        long key = archer.getRankingKey();
+        Long leadKey = leadKeys.get(archer);
+        if (leadKey == null) {
+            this.offer(archer, key);
+        } else if (key <= leadKey) {
+            // the archer has improved, so moves away from the trailing root
+            leadKeys.put(archer, key);
+            lead.increaseKey(archer);
+        } else {
+            // the archer has worsened, so moves towards the trailing root
+            leadKeys.put(archer, key);
+            lead.decreaseKey(archer);
+            if (!complete && lead.peek() == archer) {
+                // an archer outside the heap may overtake the new trailing archer, so it leaves the reserve
+                leadKeys.remove(lead.poll());
+                if (lead.size() < numTops) {
+                    this.rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the lead collection from the complete population
+     */
+    public void rebuild() {
+        lead.clear();
+        leadKeys.clear();
+        complete = true;
+        for (Archer archer : population) {
+            this.offer(archer, archer.getRankingKey());
+        }
+    }
+
+    /**
+     * @return  the current lead collection, sorted by the scoring scheme
+     */
+    public List<Archer> snapshot() {
+        List<Archer> sorted = lead.toList();
+        // ranking keys are unique by the id in their lower bits
+        sorted.sort(Comparator.comparingLong(leadKeys::get));
+        return Collections.unmodifiableList(new ArrayList<>(sorted.subList(0, this.size())));
+    }
+
+    public int size() {
+        return Math.min(numTops, lead.size());
+    }
+
+    /**
+     * Checks whether the archer is in the lead collection, which takes O(numTops) if the reserve is in use
+     * @param archer
+     * @return  whether the archer is one of the numTops best archers
+     */
+    public boolean isLeading(Archer archer) {
+        Long key = leadKeys.get(archer);
+        if (key == null) return false;
+        if (lead.size() <= numTops) return true;
+        int ahead = 0;
+        for (long otherKey : leadKeys.values()) {
+            if (otherKey < key) ahead++;
+        }
+        return ahead < numTops;
+    }
+
+    private void offer(Archer archer, long key) {
+        if (lead.size() < capacity && (complete || key < leadKeys.get(lead.peek()))) {
+            // archer fits in the heap without passing over any archer outside of it
+            lead.add(archer);
+            leadKeys.put(archer, key);
+        } else if (key < leadKeys.get(lead.peek())) {
+            // archer overtakes the trailing archer of the heap
+            leadKeys.remove(lead.poll());
+            lead.add(archer);
+            leadKeys.put(archer, key);
+            complete = false;
+        } else {
+            complete = false;
+        }
+    }
+}
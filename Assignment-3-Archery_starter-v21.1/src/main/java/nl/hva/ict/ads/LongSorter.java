@@ -0,0 +1,184 @@
+package nl.hva.ict.ads;
+
+/**
+ * Counterpart of SorterImpl for arrays of primitive longs, such as packed ranking keys,
+ * which sorts without boxing and without any allocation per item.
+ * The ordening is ascending by default, or as specified by an optional LongComparator.
+ * The index-permutation variant sorts an array of indices by the keys at those indices in a separate key array.
+ */
+public class LongSorter {
+
+    /**
+     * Comparator of two primitive longs
+     */
+    @FunctionalInterface
+    public interface LongComparator {
+        int compare(long a, long b);
+
+        default LongComparator reversed() {
+            return (a, b) -> this.compare(b, a);
+        }
+    }
+
+    public static final LongComparator NATURAL_ORDER = Long::compare;
+
+    public long[] selInsSort(long[] items) {
+        return this.selInsSort(items, NATURAL_ORDER);
+    }
+
+    /**
+     * Sorts all items by insertion sort using the provided comparator
+     * Items are sorted 'in place' without use of an auxiliary array
+     * @param items
+     * @param comparator
+     * @return  the items sorted in place
+     */
+    public long[] selInsSort(long[] items, LongComparator comparator) {
+        this.insertionSortPart(items, 0, items.length - 1, comparator);
+        return items;
+    }
+
+    private void insertionSortPart(long[] items, int from, int to, LongComparator comparator) {
+        for (int i = from + 1; i <= to; i++) {
+            // loop-invariant: items[from..i-1] are sorted
+            long item = items[i];
+            int j = i;
+            while (j > from && comparator.compare(items[j - 1], item) > 0) {
+                items[j] = items[j - 1];
+                j--;
+            }
+            items[j] = item;
+        }
+    }
+
+    public long[] quickSort(long[] items) {
+        return this.quickSort(items, NATURAL_ORDER);
+    }
+
+    /**
+     * Sorts all items by quick sort with three-way partitioning using the provided comparator:
+     * items equal to the pivot are gathered in the middle and excluded from further sorting,
+     * which keeps the sort O(n log n) on keys with few distinct values, such as total scores
+     * Items are sorted 'in place' without use of an auxiliary array
+     * @param items
+     * @param comparator
+     * @return  the items sorted in place
+     */
+    public long[] quickSort(long[] items, LongComparator comparator) {
+        this.quickSortPart(items, 0, items.length - 1, comparator);
+        return items;
+    }
+
+    private void quickSortPart(long[] items, int from, int to, LongComparator comparator) {
+        while (from < to) {
+            long pivot = items[from + (to - from) / 2];
+            int lt = from;
+            int gt = to;
+            int i = from;
+            while (i <= gt) {
+                // loop-invariant: items[from..lt-1] < pivot == items[lt..i-1], items[gt+1..to] > pivot
+                int c = comparator.compare(items[i], pivot);
+                if (c < 0) swap(items, lt++, i++);
+                else if (c > 0) swap(items, i, gt--);
+                else i++;
+            }
+            // the items equal to the pivot are in place already
+            // recurse into the smaller part and iterate on the larger part to limit the stack depth
+            if (lt - from < to - gt) {
+                this.quickSortPart(items, from, lt - 1, comparator);
+                from = gt + 1;
+            } else {
+                this.quickSortPart(items, gt + 1, to, comparator);
+                to = lt - 1;
+            }
+        }
+    }
+
+    public long[] topsHeapSort(int numTops, long[] items) {
+        return this.topsHeapSort(numTops, items, NATURAL_ORDER);
+    }
+
+    /**
+     * Identifies the lead collection of numTops items according to the ordening criteria of comparator
+     * and organizes and sorts this lead collection into the first numTops positions of the array,
+     * with use of a 4-ary heap like the topsHeapSort of SorterImpl.
+     * The remaining items are kept in the tail of the array, in arbitrary order.
+     * @param numTops       the size of the lead collection of items to be found and sorted
+     * @param items
+     * @param comparator
+     * @return              the items array with its first numTops items sorted according to comparator
+     *                      all other items >= any item in the lead collection
+     */
+    public long[] topsHeapSort(int numTops, long[] items, LongComparator comparator) {
+        // check 0 < numTops <= items.length
+        if (numTops <= 0) return items;
+        else if (numTops > items.length) return this.quickSort(items, comparator);
+
+        // the root of the heap by the reversed comparator holds the worst item of the lead collection
+        LongComparator reverseComparator = comparator.reversed();
+        for (int heapSize = 2; heapSize <= numTops; heapSize++) {
+            this.heapSwim(items, heapSize - 1, reverseComparator);
+        }
+        for (int i = numTops; i < items.length; i++) {
+            // loop-invariant: items[0..numTops-1] represents the current lead collection in a heap data structure
+            if (comparator.compare(items[i], items[0]) < 0) {
+                swap(items, 0, i);
+                this.heapSink(items, numTops, reverseComparator);
+            }
+        }
+        for (int i = numTops - 1; i > 0; i--) {
+            // loop-invariant: items[i+1..numTops-1] contains the tail part of the sorted lead collection
+            swap(items, 0, i);
+            this.heapSink(items, i, reverseComparator);
+        }
+        return items;
+    }
+
+    private void heapSwim(long[] items, int index, LongComparator comparator) {
+        long item = items[index];
+        int i = index;
+        while (i > 0) {
+            int parent = (i - 1) / IndexedDaryHeap.DEFAULT_ARITY;
+            if (comparator.compare(items[parent], item) <= 0) break;
+            items[i] = items[parent];
+            i = parent;
+        }
+        items[i] = item;
+    }
+
+    private void heapSink(long[] items, int heapSize, LongComparator comparator) {
+        long item = items[0];
+        int i = 0;
+        int firstChild = 1;
+        while (firstChild < heapSize) {
+            // find the smallest child
+            int child = firstChild;
+            int lastChild = Math.min(firstChild + IndexedDaryHeap.DEFAULT_ARITY, heapSize);
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (comparator.compare(items[c], items[child]) < 0) child = c;
+            }
+            if (comparator.compare(item, items[child]) <= 0) break;
+            items[i] = items[child];
+            i = child;
+            firstChild = IndexedDaryHeap.DEFAULT_ARITY * i + 1;
+        }
+        items[i] = item;
+    }
+
+    /**
+     * Sorts the indices by quick sort such that keys[indices[0]] <= keys[indices[1]] <= ...
+     * The keys array itself is left unchanged. Indices of equal keys end up in arbitrary order.
+     * @param indices   positions in keys
+     * @param keys
+     * @return  the indices sorted in place
+     */
+    public int[] quickSortIndices(int[] indices, long[] keys) {
+        return new IntSorter().quickSort(indices, (a, b) -> Long.compare(keys[a], keys[b]));
+    }
+
+    private static void swap(long[] items, int i, int j) {
+        long item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+}
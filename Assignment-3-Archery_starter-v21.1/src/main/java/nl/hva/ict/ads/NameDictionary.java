@@ -0,0 +1,104 @@
+package nl.hva.ict.ads;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary of the distinct names of archers, which encodes every name by a small ordinal.
+ * The dictionaries of first names and surnames are seeded with the names from Names,
+ * such that their ordinals are the same as in Names. Other names are added on first use.
+ * Besides the ordinal, every name has a collation rank: its position in the alphabetical (String.compareTo) order
+ * of all names in the dictionary, such that names can be compared as ints.
+ * Ranks are recalculated when they are requested after new names have been added,
+ * because a new name may shift the ranks of all names that follow it.
+ */
+public class NameDictionary {
+    public static final int MAX_SIZE = Short.MAX_VALUE + 1;
+
+    public static final NameDictionary FIRST_NAMES = new NameDictionary();
+    public static final NameDictionary SURNAMES = new NameDictionary();
+    static {
+        for (int i = 0; i < Names.nrOfFirstNames(); i++) FIRST_NAMES.ordinalOf(Names.firstName(i));
+        for (int i = 0; i < Names.nrOfSurnames(); i++) SURNAMES.ordinalOf(Names.surname(i));
+    }
+
+    private final ConcurrentHashMap<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    // written under the lock of the dictionary, after the name has been published in names
+    // and before its ordinal is published in ordinals, such that every ordinal that can be found is below size
+    private volatile int size = 0;
+    // the ranks of the first ranks.length ordinals, recalculated when any rank is requested after names were added
+    private volatile int[] ranks = new int[0];
+
+    /**
+     * Finds the ordinal of a name, adding the name to the dictionary if it is new
+     * @param name
+     * @return  the ordinal of the name, in 0..MAX_SIZE-1
+     */
+    public int ordinalOf(String name) {
+        Integer ordinal = ordinals.get(name);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (this) {
+            ordinal = ordinals.get(name);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (size == MAX_SIZE) {
+                throw new IllegalStateException("NameDictionary cannot hold more than " + MAX_SIZE + " names");
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, Math.min(MAX_SIZE, 2 * size));
+            }
+            int newOrdinal = size;
+            current[newOrdinal] = name;
+            names = current;
+            size = newOrdinal + 1;
+            ordinals.put(name, newOrdinal);
+            return newOrdinal;
+        }
+    }
+
+    /**
+     * @param ordinal
+     * @return  the name that is encoded by ordinal
+     */
+    public String nameOf(int ordinal) {
+        return names[ordinal];
+    }
+
+    /**
+     * @param ordinal
+     * @return  the alphabetical rank of the name that is encoded by ordinal, among all names in the dictionary
+     */
+    public int rankOf(int ordinal) {
+        int[] currentRanks = ranks;
+        if (currentRanks.length == size) {
+            return currentRanks[ordinal];
+        }
+        return this.recalculateRanks()[ordinal];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private synchronized int[] recalculateRanks() {
+        if (ranks.length == size) {
+            return ranks;
+        }
+        String[] current = names;
+        Integer[] sortedOrdinals = new Integer[size];
+        for (int i = 0; i < size; i++) sortedOrdinals[i] = i;
+        Arrays.sort(sortedOrdinals, Comparator.comparing(ordinal -> current[ordinal]));
+        int[] newRanks = new int[size];
+        for (int rank = 0; rank < size; rank++) {
+            newRanks[sortedOrdinals[rank]] = rank;
+        }
+        ranks = newRanks;
+        return newRanks;
+    }
+}
@@ -12,11 +12,35 @@ public class Names {
         randomizer = new Random(seed);
     }
     public static String nextFirstName() {
-        return firstNames[randomizer.nextInt(firstNames.length)];
+        return firstNames[nextFirstNameOrdinal()];
     }
 
     public static String nextSurname() {
-        return surnames[randomizer.nextInt(surnames.length)];
+        return surnames[nextSurnameOrdinal()];
+    }
+
+    public static int nextFirstNameOrdinal() {
+        return randomizer.nextInt(firstNames.length);
+    }
+
+    public static int nextSurnameOrdinal() {
+        return randomizer.nextInt(surnames.length);
+    }
+
+    public static int nrOfFirstNames() {
+        return firstNames.length;
+    }
+
+    public static int nrOfSurnames() {
+        return surnames.length;
+    }
+
+    public static String firstName(int ordinal) {
+        return firstNames[ordinal];
+    }
+
+    public static String surname(int ordinal) {
+        return surnames[ordinal];
     }
 
     private static String[] firstNames = {
@@ -0,0 +1,61 @@
+package nl.hva.ict.ads;
+
+/**
+ * Operations on scores that are packed as 4-bit nibbles into longs, 16 arrows per long:
+ * the points of arrow i occupy bits 4*i..4*i+3 of its long, a nibble of 0 is a miss (or an arrow not yet shot).
+ * Totals and misses of all arrows in a long are computed at once with SWAR (SIMD within a register) arithmetic.
+ */
+final class PackedScores {
+    public static final int ARROWS_PER_WORD = 16;
+    public static final int MAX_POINTS = 10;
+
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+    private static final long LOW_BITS = 0x1111111111111111L;
+    private static final long BYTES_ONES = 0x0101010101010101L;
+
+    private PackedScores() {
+    }
+
+    /**
+     * @param word
+     * @param arrow     the arrow within the word, 0 <= arrow < ARROWS_PER_WORD
+     * @return  the points of the arrow
+     */
+    static int get(long word, int arrow) {
+        return (int) (word >>> (4 * arrow)) & 0xF;
+    }
+
+    /**
+     * @param word
+     * @param arrow     the arrow within the word, 0 <= arrow < ARROWS_PER_WORD
+     * @param points    0 <= points <= 15
+     * @return  the word with the points of the arrow replaced
+     */
+    static long with(long word, int arrow, int points) {
+        int shift = 4 * arrow;
+        return word & ~(0xFL << shift) | (long) points << shift;
+    }
+
+    /**
+     * @param word
+     * @return  the sum of the points of all arrows in the word
+     */
+    static int total(long word) {
+        // add adjacent nibbles into bytes of at most 30, then add all bytes into the top byte
+        long bytes = (word & LOW_NIBBLES) + ((word >>> 4) & LOW_NIBBLES);
+        return (int) ((bytes * BYTES_ONES) >>> 56);
+    }
+
+    /**
+     * @param word
+     * @param nrOfArrows    the number of arrows in use in the word, counted from arrow 0
+     * @return  the number of arrows in use that scored no points
+     */
+    static int misses(long word, int nrOfArrows) {
+        // fold every nibble onto its lowest bit, which then is set for every arrow that scored
+        long scored = word | (word >>> 1);
+        scored = (scored | (scored >>> 2)) & LOW_BITS;
+        long inUse = nrOfArrows >= ARROWS_PER_WORD ? LOW_BITS : LOW_BITS & ((1L << (4 * nrOfArrows)) - 1);
+        return Long.bitCount(~scored & inUse);
+    }
+}
@@ -0,0 +1,194 @@
+package nl.hva.ict.ads;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorter that distributes quick sort and tops heap sort over the worker threads of a fork/join pool.
+ * Partitions larger than the threshold are split into independent tasks,
+ * smaller partitions are sorted sequentially by the introspective introSortPart of IntroSorter.
+ * The depth budget of 2*log(n) is shared by the tasks and their sequential leaves,
+ * so any partition that exceeds it is finished by heap sort, which bounds both the nesting of the tasks
+ * and the total number of comparisons on adversarial input.
+ * For tops heap sort every chunk of the list finds its own lead collection with a bounded heap,
+ * after which the lead collections of all chunks are merged into the overall lead collection.
+ * All tasks operate on disjoint index ranges of the same list (or its array snapshot),
+ * so items are still sorted 'in place' and in the same order as the sequential quickSort.
+ * @param <E>
+ */
+public class ParallelSorter<E>
+        extends IntroSorter<E>
+        implements Sorter<E> {
+
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelSorter() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param threshold the size of a partition below which it is sorted sequentially
+     */
+    public ParallelSorter(int threshold) {
+        this(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param threshold the size of a partition below which it is sorted sequentially
+     * @param pool      the fork/join pool that shall execute the sorting tasks
+     */
+    public ParallelSorter(int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive, but was " + threshold);
+        }
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sorts all items by quick sort using the provided comparator,
+     * with the partitions being sorted in parallel by the fork/join pool
+     * @param items
+     * @param comparator
+     * @return  the items sorted in place
+     */
+    @Override
+    public List<E> quickSort(List<E> items, Comparator<E> comparator) {
+        if (items.size() < threshold) {
+            return super.quickSort(items, comparator);
+        }
+        return onArraySnapshot(items, list -> pool.invoke(new QuickSortTask(list, 0, list.size() - 1, 2 * floorLog2(list.size()), comparator)));
+    }
+
+    /**
+     * Identifies and sorts the lead collection of numTops items into the first numTops positions of the list
+     * like SorterImpl.topsHeapSort, with the chunks of the list being scanned in parallel by the fork/join pool
+     * @param numTops       the size of the lead collection of items to be found and sorted
+     * @param items
+     * @param comparator
+     * @return              the items list with its first numTops items sorted according to comparator
+     *                      all other items >= any item in the lead collection
+     */
+    @Override
+    public List<E> topsHeapSort(int numTops, List<E> items, Comparator<E> comparator) {
+        if (numTops <= 0 || numTops > items.size() || items.size() < 2 * threshold) {
+            return super.topsHeapSort(numTops, items, comparator);
+        }
+        return onArraySnapshot(items, list -> this.parallelTopsHeapSortPart(numTops, list, comparator));
+    }
+
+    private void parallelTopsHeapSortPart(int numTops, List<E> items, Comparator<E> comparator) {
+        // a few chunks per worker thread balance the load, but every chunk spans at least threshold items
+        int nrOfChunks = Math.max(1, Math.min(4 * pool.getParallelism(), items.size() / threshold));
+        int chunkSize = (items.size() + nrOfChunks - 1) / nrOfChunks;
+        List<TopsTask> tasks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            tasks.add(new TopsTask(items, from, Math.min(items.size(), from + chunkSize), numTops, comparator));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        // move the lead collections of all chunks to the front of the list
+        // every chunk is at least as large as its lead collection, so no candidate is overwritten before it is moved
+        int nrOfCandidates = 0;
+        for (TopsTask task : tasks) {
+            for (int i = task.from; i < task.from + task.numTops; i++) {
+                swap(items, nrOfCandidates++, i);
+            }
+        }
+
+        // merge the candidates into the overall lead collection
+        this.topsHeapSortPart(numTops, items.subList(0, nrOfCandidates), comparator);
+    }
+
+    private class TopsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<E> items;
+        private final int from;
+        private final int to;
+        private final int numTops;
+        private final Comparator<E> comparator;
+
+        TopsTask(List<E> items, int from, int to, int numTops, Comparator<E> comparator) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.numTops = Math.min(numTops, to - from);
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            topsHeapSortPart(numTops, items.subList(from, to), comparator);
+        }
+    }
+
+    private class QuickSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<E> items;
+        private final int from;
+        private final int to;
+        private final int depthLimit;
+        private final Comparator<E> comparator;
+
+        QuickSortTask(List<E> items, int from, int to, int depthLimit, Comparator<E> comparator) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.depthLimit = depthLimit;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            int from = this.from;
+            int to = this.to;
+            int depthLimit = this.depthLimit;
+            List<QuickSortTask> forked = new ArrayList<>();
+            while (to - from >= threshold) {
+                if (depthLimit == 0) {
+                    // the pivots have been unlucky too often, avoid quadratic behaviour and deep task nesting
+                    heapSortPart(items, from, to, comparator);
+                    break;
+                }
+                depthLimit--;
+                int pivotIndex = quickSortPartition(items, from, to, comparator);
+                // fork the larger part and iterate on the smaller part
+                QuickSortTask task;
+                if (pivotIndex - from < to - pivotIndex) {
+                    task = new QuickSortTask(items, pivotIndex + 1, to, depthLimit, comparator);
+                    to = pivotIndex - 1;
+                } else {
+                    task = new QuickSortTask(items, from, pivotIndex - 1, depthLimit, comparator);
+                    from = pivotIndex + 1;
+                }
+                task.fork();
+                forked.add(task);
+            }
+            if (to - from < threshold) {
+                // continue with the remaining depth budget, rather than restarting it for the smaller partition
+                introSortPart(items, from, to, depthLimit, comparator);
+            }
+            // join in reverse order, such that tasks that have not been stolen are run by this thread directly
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                forked.get(i).join();
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package nl.hva.ict.ads;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic index of the rankings of a competition, according to the scoring scheme:
+ * highest total points -> least misses -> earliest registration.
+ * Ranks are zero-based: the leading archer has rank 0, the 10th place has rank 9.
+ * The archers are kept in a treap (a binary search tree that is balanced by random heap priorities) of their
+ * ranking keys, in which every node also counts the size of its subtree.
+ * Thereby rankOf, archerAtRank and updates take O(log n) expected time and range(from, to) takes O(log n + k).
+ * The index keeps the ranking key of every archer at the time of its last update,
+ * so after a change of scores the archer must be updated to be found at its new rank.
+ */
+public class RankIndex {
+
+    private static class Node {
+        final long key;
+        final Archer archer;
+        final int priority;
+        int size = 1;
+        Node left, right;
+
+        Node(long key, Archer archer, int priority) {
+            this.key = key;
+            this.archer = archer;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom randomizer = new SplittableRandom(1L);
+    private final Map<Archer, Long> indexedKeys = new HashMap<>();
+    private Node root;
+
+    public RankIndex() {
+    }
+
+    /**
+     * @param archers   the archers to be indexed initially
+     */
+    public RankIndex(Collection<Archer> archers) {
+        this.addAll(archers);
+    }
+
+    /**
+     * Registers the points of a round with the archer and updates the index accordingly
+     * @param archer
+     * @param round the round for which to register the points. First round has number 1.
+     * @param points the points shot during the round, one for each arrow.
+     */
+    public void registerScoreForRound(Archer archer, int round, int[] points) {
+        archer.registerScoreForRound(round, points);
+        this.update(archer);
+    }
+
+    /**
+     * Repositions the archer in the index after its scores have changed, or adds the archer if not yet indexed
+     * @param archer
+     */
+    public void update(Archer archer) {
+        long key = archer.getRankingKey();
+        Long indexedKey = indexedKeys.put(archer, key);
+        if (indexedKey != null) {
+            if (indexedKey == key) return;
+            root = this.delete(root, indexedKey);
+        }
+        root = this.insert(root, new Node(key, archer, randomizer.nextInt()));
+    }
+
+    public void addAll(Collection<Archer> archers) {
+        for (Archer archer : archers) {
+            this.update(archer);
+        }
+    }
+
+    /**
+     * Removes the archer from the index
+     * @param archer
+     * @return  whether the archer was indexed
+     */
+    public boolean remove(Archer archer) {
+        Long indexedKey = indexedKeys.remove(archer);
+        if (indexedKey == null) return false;
+        root = this.delete(root, indexedKey);
+        return true;
+    }
+
+    public boolean contains(Archer archer) {
+        return indexedKeys.containsKey(archer);
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * @param archer
+     * @return  the zero-based rank of the archer at its last update, or -1 if the archer is not indexed
+     */
+    public int rankOf(Archer archer) {
+        Long indexedKey = indexedKeys.get(archer);
+        if (indexedKey == null) return -1;
+        int rank = 0;
+        Node node = root;
+        while (node.key != indexedKey) {
+            if (indexedKey < node.key) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank + size(node.left);
+    }
+
+    /**
+     * @param rank  zero-based rank
+     * @return  the archer at the given rank
+     */
+    public Archer archerAtRank(int rank) {
+        this.checkRank(rank, size() - 1);
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node.archer;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * @param fromRank  zero-based rank of the first archer, inclusive
+     * @param toRank    zero-based rank of the last archer, exclusive
+     * @return  the archers of ranks fromRank until toRank, in order of their ranking, like subList(fromRank, toRank)
+     *          of the fully sorted archers
+     */
+    public List<Archer> range(int fromRank, int toRank) {
+        this.checkRank(fromRank, size());
+        this.checkRank(toRank, size());
+        if (fromRank > toRank) {
+            throw new IllegalArgumentException("fromRank(" + fromRank + ") > toRank(" + toRank + ")");
+        }
+        List<Archer> archers = new ArrayList<>(toRank - fromRank);
+        // the stack holds the path of pending successors, starting from the archer at fromRank
+        Deque<Node> successors = new ArrayDeque<>();
+        Node node = root;
+        int rank = fromRank;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                successors.push(node);
+                node = node.left;
+            } else if (rank == leftSize) {
+                successors.push(node);
+                break;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        while (archers.size() < toRank - fromRank) {
+            node = successors.pop();
+            archers.add(node.archer);
+            for (Node next = node.right; next != null; next = next.left) {
+                successors.push(next);
+            }
+        }
+        return archers;
+    }
+
+    private void checkRank(int rank, int maxRank) {
+        if (rank < 0 || rank > maxRank) {
+            throw new IndexOutOfBoundsException("rank " + rank + " out of bounds for " + size() + " archers");
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node resize(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) return inserted;
+        if (inserted.key < node.key) {
+            node.left = this.insert(node.left, inserted);
+            if (node.left.priority > node.priority) return this.rotateRight(node);
+        } else {
+            node.right = this.insert(node.right, inserted);
+            if (node.right.priority > node.priority) return this.rotateLeft(node);
+        }
+        return resize(node);
+    }
+
+    private Node delete(Node node, long key) {
+        if (key < node.key) {
+            node.left = this.delete(node.left, key);
+        } else if (key > node.key) {
+            node.right = this.delete(node.right, key);
+        } else {
+            return this.merge(node.left, node.right);
+        }
+        return resize(node);
+    }
+
+    /**
+     * merges two treaps of which all keys of left are smaller than all keys of right
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = this.merge(left.right, right);
+            return resize(left);
+        } else {
+            right.left = this.merge(left, right.left);
+            return resize(right);
+        }
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = resize(node);
+        return resize(pivot);
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = resize(node);
+        return resize(pivot);
+    }
+}
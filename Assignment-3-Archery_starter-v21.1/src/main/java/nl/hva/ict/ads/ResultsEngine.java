@@ -0,0 +1,136 @@
+package nl.hva.ict.ads;
+
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Calculates the key results of a competition in a single pass over its archers:
+ *  - the first archers to enroll, by lowest id
+ *  - the first archers by alphabet, by last name and first name
+ *  - the leading archers of the rankings, by the scoring scheme:
+ *      highest total points -> least misses -> earliest registration
+ * Every report is selected by a bounded heap of its own size, so the engine takes O(k) memory
+ * and O(n log k) time, also for streams of archers that are never materialised as a whole.
+ * The engine is a Consumer of archers, and engines of parallel parts of a stream can be combined:
+ *      archers.parallel().collect(ResultsEngine::new, ResultsEngine::accept, ResultsEngine::combine)
+ */
+public class ResultsEngine implements Consumer<Archer> {
+    public static final int NUM_FIRST = 3;
+    public static final int NUM_PODIUM = 3;
+    public static final int NUM_RANKED = 10;
+
+    private static final Comparator<Archer> BY_ID = Comparator.comparingInt(Archer::getId);
+    private static final Comparator<Archer> BY_NAME = Comparator.comparing(Archer::getLastName)
+            .thenComparing(Archer::getFirstName)
+            .thenComparing(BY_ID);
+    private static final Comparator<Archer> BY_RANKING = Comparator.comparingLong(Archer::getRankingKey);
+
+    private final Selection firstToEnroll = new Selection(NUM_FIRST, BY_ID);
+    private final Selection firstByAlphabet = new Selection(NUM_FIRST, BY_NAME);
+    private final Selection leaders = new Selection(NUM_RANKED, BY_RANKING);
+    private long count = 0;
+
+    /**
+     * Bounded selection of the smallest items according to the comparator,
+     * kept in an unindexed IndexedDaryHeap with the largest selected item at its root,
+     * as the selection only adds and polls items and never repositions them by handle
+     */
+    private static class Selection {
+        private final int capacity;
+        private final Comparator<Archer> comparator;
+        private final IndexedDaryHeap<Archer> heap;
+
+        Selection(int capacity, Comparator<Archer> comparator) {
+            this.capacity = capacity;
+            this.comparator = comparator;
+            this.heap = new IndexedDaryHeap<>(IndexedDaryHeap.DEFAULT_ARITY, comparator.reversed(), false);
+        }
+
+        void offer(Archer archer) {
+            if (heap.size() < capacity) {
+                heap.add(archer);
+            } else if (comparator.compare(archer, heap.peek()) < 0) {
+                // archer displaces the largest item of the selection
+                heap.poll();
+                heap.add(archer);
+            }
+        }
+
+        List<Archer> sorted() {
+            List<Archer> selected = heap.toList();
+            selected.sort(comparator);
+            return selected;
+        }
+    }
+
+    /**
+     * Accounts for the archer in all reports. The scores of the archer shall not change afterwards.
+     * @param archer
+     */
+    @Override
+    public void accept(Archer archer) {
+        count++;
+        firstToEnroll.offer(archer);
+        firstByAlphabet.offer(archer);
+        leaders.offer(archer);
+    }
+
+    /**
+     * Merges the results of the archers of another engine into this engine
+     * @param other
+     * @return  this engine
+     */
+    public ResultsEngine combine(ResultsEngine other) {
+        count += other.count;
+        other.firstToEnroll.sorted().forEach(firstToEnroll::offer);
+        other.firstByAlphabet.sorted().forEach(firstByAlphabet::offer);
+        other.leaders.sorted().forEach(leaders::offer);
+        return this;
+    }
+
+    /**
+     * @return  the number of archers that have been accounted for
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public List<Archer> getFirstToEnroll() {
+        return firstToEnroll.sorted();
+    }
+
+    public List<Archer> getFirstByAlphabet() {
+        return firstByAlphabet.sorted();
+    }
+
+    /**
+     * @param fromRank  zero-based rank of the first archer, inclusive
+     * @param toRank    zero-based rank of the last archer, exclusive, at most NUM_RANKED
+     * @return  the archers of ranks fromRank until toRank, or fewer if less archers have been accounted for
+     */
+    public List<Archer> getRanked(int fromRank, int toRank) {
+        if (toRank > NUM_RANKED) {
+            throw new IllegalArgumentException("only the first " + NUM_RANKED + " ranks are kept, not " + toRank);
+        }
+        List<Archer> ranked = leaders.sorted();
+        return ranked.subList(Math.min(fromRank, ranked.size()), Math.min(toRank, ranked.size()));
+    }
+
+    public List<Archer> getPodium() {
+        return this.getRanked(0, NUM_PODIUM);
+    }
+
+    /**
+     * Prints the reports of the competition
+     * @param out
+     */
+    public void printResults(PrintStream out) {
+        out.printf("%d archers have participated in this competition\n", count);
+        out.printf("The first three archers to enroll were: %s\n", this.getFirstToEnroll());
+        out.printf("The first three archers by alphabet are: %s\n", this.getFirstByAlphabet());
+        out.printf("At 4th thru 10th place of the rankings we find: %s\n", this.getRanked(NUM_PODIUM, NUM_RANKED));
+        out.printf("The top-3 price winners of the competition are: %s\n", this.getPodium());
+    }
+}
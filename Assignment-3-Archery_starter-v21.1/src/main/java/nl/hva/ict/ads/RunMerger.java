@@ -0,0 +1,309 @@
+package nl.hva.ict.ads;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Stable, adaptive merge sort engine in the style of TimSort.
+ *  - natural ascending runs are detected, strictly descending runs are reversed into ascending runs
+ *  - short runs are extended to a minimum run length by binary insertion sort
+ *  - runs are merged from a stack that keeps the merges balanced
+ *  - merges gallop through the runs when one of them keeps winning, and skip the parts that are in place already
+ * Already sorted input is recognised as a single run in n-1 comparisons.
+ * One scratch buffer is reused by all merges of a sort, it grows up to half the size of the items.
+ * @param <E>
+ */
+class RunMerger<E> {
+    static final int MIN_MERGE = 32;
+    static final int MIN_GALLOP = 7;
+
+    private final List<E> items;
+    private final Comparator<E> comparator;
+    private Object[] scratch = new Object[0];
+    private int minGallop = MIN_GALLOP;
+
+    // the stack of pending runs, runs i and i+1 are adjacent with runBase[i] + runLen[i] == runBase[i+1]
+    private final int[] runBase = new int[49];
+    private final int[] runLen = new int[49];
+    private int stackSize = 0;
+
+    RunMerger(List<E> items, Comparator<E> comparator) {
+        this.items = items;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Sorts all items stably, 'in place' with use of the scratch buffer
+     */
+    void sort() {
+        int n = items.size();
+        if (n < 2) return;
+        int minRun = minRunLength(n);
+        int lo = 0;
+        while (lo < n) {
+            int run = this.countRunAndMakeAscending(lo, n);
+            if (run < minRun) {
+                int forced = Math.min(n - lo, minRun);
+                this.binaryInsertionSort(lo, lo + forced, lo + run);
+                run = forced;
+            }
+            runBase[stackSize] = lo;
+            runLen[stackSize] = run;
+            stackSize++;
+            this.mergeCollapse();
+            lo += run;
+        }
+        this.mergeForceCollapse();
+    }
+
+    private static int minRunLength(int n) {
+        // choose a minimum run length in [MIN_MERGE/2, MIN_MERGE] such that n / minRun is (close to) a power of 2
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private int countRunAndMakeAscending(int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+        if (comparator.compare(items.get(runHi++), items.get(lo)) < 0) {
+            // strictly descending, such that reversal keeps the sort stable
+            while (runHi < hi && comparator.compare(items.get(runHi), items.get(runHi - 1)) < 0) runHi++;
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                E item = items.get(i);
+                items.set(i, items.get(j));
+                items.set(j, item);
+            }
+        } else {
+            while (runHi < hi && comparator.compare(items.get(runHi), items.get(runHi - 1)) >= 0) runHi++;
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * Sorts items[lo..hi-1] by binary insertion sort, given that items[lo..start-1] are sorted already
+     */
+    private void binaryInsertionSort(int lo, int hi, int start) {
+        for (; start < hi; start++) {
+            E pivot = items.get(start);
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (comparator.compare(pivot, items.get(mid)) < 0) right = mid;
+                else left = mid + 1;
+            }
+            for (int i = start; i > left; i--) {
+                items.set(i, items.get(i - 1));
+            }
+            items.set(left, pivot);
+        }
+    }
+
+    /**
+     * Merges runs on the stack until the run lengths satisfy
+     *      runLen[i-2] > runLen[i-1] + runLen[i] and runLen[i-1] > runLen[i]
+     * which keeps the stack shallow and the merges balanced
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                if (runLen[n - 1] < runLen[n + 1]) n--;
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            this.mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+            this.mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges the runs at stack positions i and i+1
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // the leading items of run1 that are <= the first item of run2 are in place already
+        int k = gallopFromLeft(items.get(base2), items::get, base1, len1, true);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) return;
+        // the trailing items of run2 that are >= the last item of run1 are in place already
+        len2 = gallopFromRight(items.get(base1 + len1 - 1), items::get, base2, len2, false);
+        if (len2 == 0) return;
+
+        if (len1 <= len2) this.mergeLo(base1, len1, base2, len2);
+        else this.mergeHi(base1, len1, base2, len2);
+    }
+
+    /**
+     * Merges adjacent runs from left to right, with the shorter run1 in the scratch buffer
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        Object[] tmp = this.scratch(len1);
+        for (int i = 0; i < len1; i++) tmp[i] = items.get(base1 + i);
+        IntFunction<E> tmpAt = i -> (E) tmp[i];
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int end2 = base2 + len2;
+        int dest = base1;
+        int count1 = 0;
+        int count2 = 0;
+        while (cursor1 < len1 && cursor2 < end2) {
+            if (count1 >= minGallop || count2 >= minGallop) {
+                // copy all items of run1 that go before the next item of run2 at once
+                int k1 = gallopFromLeft(items.get(cursor2), tmpAt, cursor1, len1 - cursor1, true);
+                for (int i = 0; i < k1; i++) items.set(dest++, (E) tmp[cursor1++]);
+                if (cursor1 == len1) break;
+                // move all items of run2 that go before the next item of run1 at once
+                int k2 = gallopFromLeft((E) tmp[cursor1], items::get, cursor2, end2 - cursor2, false);
+                for (int i = 0; i < k2; i++) items.set(dest++, items.get(cursor2++));
+                this.adaptMinGallop(k1, k2);
+                if (k1 < MIN_GALLOP && k2 < MIN_GALLOP) count1 = count2 = 0;
+            } else if (comparator.compare(items.get(cursor2), (E) tmp[cursor1]) < 0) {
+                items.set(dest++, items.get(cursor2++));
+                count2++;
+                count1 = 0;
+            } else {
+                items.set(dest++, (E) tmp[cursor1++]);
+                count1++;
+                count2 = 0;
+            }
+        }
+        // the remainder of run2, if any, is in place already
+        while (cursor1 < len1) items.set(dest++, (E) tmp[cursor1++]);
+        this.release(tmp, len1);
+    }
+
+    /**
+     * Merges adjacent runs from right to left, with the shorter run2 in the scratch buffer
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        Object[] tmp = this.scratch(len2);
+        for (int i = 0; i < len2; i++) tmp[i] = items.get(base2 + i);
+        IntFunction<E> tmpAt = i -> (E) tmp[i];
+
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        int count1 = 0;
+        int count2 = 0;
+        while (cursor1 >= base1 && cursor2 >= 0) {
+            if (count1 >= minGallop || count2 >= minGallop) {
+                // move all items of run1 that go after the next item of run2 at once
+                int p = base1 + gallopFromRight((E) tmp[cursor2], items::get, base1, cursor1 - base1 + 1, true);
+                int k1 = cursor1 - p + 1;
+                for (int i = 0; i < k1; i++) items.set(dest--, items.get(cursor1--));
+                if (cursor1 < base1) break;
+                // copy all items of run2 that go after the next item of run1 at once
+                int q = gallopFromRight(items.get(cursor1), tmpAt, 0, cursor2 + 1, false);
+                int k2 = cursor2 - q + 1;
+                for (int i = 0; i < k2; i++) items.set(dest--, (E) tmp[cursor2--]);
+                this.adaptMinGallop(k1, k2);
+                if (k1 < MIN_GALLOP && k2 < MIN_GALLOP) count1 = count2 = 0;
+            } else if (comparator.compare((E) tmp[cursor2], items.get(cursor1)) < 0) {
+                items.set(dest--, items.get(cursor1--));
+                count1++;
+                count2 = 0;
+            } else {
+                items.set(dest--, (E) tmp[cursor2--]);
+                count2++;
+                count1 = 0;
+            }
+        }
+        // the remainder of run1, if any, is in place already
+        while (cursor2 >= 0) items.set(dest--, (E) tmp[cursor2--]);
+        this.release(tmp, len2);
+    }
+
+    private void adaptMinGallop(int k1, int k2) {
+        // galloping pays off as long as it moves long stretches, otherwise make it harder to enter again
+        if (k1 < MIN_GALLOP && k2 < MIN_GALLOP) minGallop++;
+        else if (minGallop > 1) minGallop--;
+    }
+
+    /**
+     * Counts the leading items in range [from, from+len) of a sorted sequence that go before key,
+     * i.e. are < key, or <= key if inclusive, by exponential search from the left followed by binary search
+     */
+    private int gallopFromLeft(E key, IntFunction<E> at, int from, int len, boolean inclusive) {
+        if (len == 0 || !this.before(at.apply(from), key, inclusive)) return 0;
+        int lastBefore = 0;
+        int offset = 1;
+        while (offset < len && this.before(at.apply(from + offset), key, inclusive)) {
+            lastBefore = offset;
+            offset = 2 * offset + 1;
+        }
+        return this.binarySearch(key, at, from, lastBefore + 1, Math.min(offset, len), inclusive);
+    }
+
+    /**
+     * Counts the leading items in range [from, from+len) of a sorted sequence that go before key,
+     * i.e. are < key, or <= key if inclusive, by exponential search from the right followed by binary search
+     */
+    private int gallopFromRight(E key, IntFunction<E> at, int from, int len, boolean inclusive) {
+        if (len == 0 || this.before(at.apply(from + len - 1), key, inclusive)) return len;
+        int firstAfter = len - 1;
+        int offset = 1;
+        while (offset < len && !this.before(at.apply(from + len - 1 - offset), key, inclusive)) {
+            firstAfter = len - 1 - offset;
+            offset = 2 * offset + 1;
+        }
+        return this.binarySearch(key, at, from, Math.max(0, len - offset), firstAfter, inclusive);
+    }
+
+    /**
+     * Finds the first offset in [lo, hi] that does not go before key, given that all offsets < lo go before key
+     * and offset hi does not, or hi is the end of the range
+     */
+    private int binarySearch(E key, IntFunction<E> at, int from, int lo, int hi, boolean inclusive) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (this.before(at.apply(from + mid), key, inclusive)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private boolean before(E item, E key, boolean inclusive) {
+        int c = comparator.compare(item, key);
+        return inclusive ? c <= 0 : c < 0;
+    }
+
+    private Object[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new Object[Math.max(length, Math.min(2 * scratch.length, items.size() / 2))];
+        }
+        return scratch;
+    }
+
+    private void release(Object[] tmp, int length) {
+        // drop the references, such that the scratch buffer does not keep items alive
+        for (int i = 0; i < length; i++) tmp[i] = null;
+    }
+}
@@ -0,0 +1,153 @@
+package nl.hva.ict.ads;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the metrics of sort operations, as collected by an InstrumentedSorter.
+ * Every operation counts its calls, comparator invocations, element reads and element writes in striped counters
+ * and records the wall time of every call into a histogram with logarithmic buckets for percentile queries.
+ * The metrics can be polled at any time, or dumped as a table.
+ */
+public class SortMetrics {
+    private final ConcurrentHashMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    /**
+     * @param name  the name of the operation
+     * @return      the metrics of the operation, registered on first use
+     */
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    /**
+     * @return  the metrics of all operations that have been registered, by name
+     */
+    public Map<String, OperationMetrics> getOperations() {
+        return Collections.unmodifiableMap(new TreeMap<>(operations));
+    }
+
+    /**
+     * Prints a table with the metrics of all operations
+     * @param out
+     */
+    public void dump(PrintStream out) {
+        out.printf("%-32s %10s %14s %14s %14s %12s %12s %12s%n",
+                "operation", "calls", "comparisons", "reads", "writes", "p50 (us)", "p99 (us)", "max (us)");
+        for (OperationMetrics metrics : this.getOperations().values()) {
+            out.println(metrics);
+        }
+    }
+
+    public static class OperationMetrics {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder writes = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        OperationMetrics(String name) {
+            this.name = name;
+        }
+
+        void recordCall(long nanos) {
+            calls.increment();
+            latencies.record(nanos);
+        }
+
+        LongAdder comparisonCounter() {
+            return comparisons;
+        }
+
+        LongAdder readCounter() {
+            return reads;
+        }
+
+        LongAdder writeCounter() {
+            return writes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getComparisons() {
+            return comparisons.sum();
+        }
+
+        public long getReads() {
+            return reads.sum();
+        }
+
+        public long getWrites() {
+            return writes.sum();
+        }
+
+        /**
+         * @param percentile    in 0..100
+         * @return  the wall time in nanoseconds that percentile of the calls did not exceed,
+         *          accurate within 1/8th of the value
+         */
+        public long getLatencyPercentile(double percentile) {
+            return latencies.percentile(percentile);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-32s %10d %14d %14d %14d %12.1f %12.1f %12.1f", name,
+                    getCalls(), getComparisons(), getReads(), getWrites(),
+                    getLatencyPercentile(50) / 1000.0, getLatencyPercentile(99) / 1000.0, getLatencyPercentile(100) / 1000.0);
+        }
+    }
+
+    /**
+     * Lock-free histogram of durations with exact buckets below 16ns
+     * and 8 buckets for every power of 2 thereafter
+     */
+    static class LatencyHistogram {
+        private static final int SUB_BUCKETS = 8;
+        private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+        private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + (63 - 4) * SUB_BUCKETS);
+
+        void record(long nanos) {
+            counts.incrementAndGet(indexOf(Math.max(0, nanos)));
+        }
+
+        long percentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) total += counts.get(i);
+            if (total == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                cumulative += counts.get(i);
+                if (cumulative >= target) return upperBoundOf(i);
+            }
+            return upperBoundOf(counts.length() - 1);
+        }
+
+        static int indexOf(long nanos) {
+            if (nanos < LINEAR_BUCKETS) return (int) nanos;
+            int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+            int subBucket = (int) (nanos >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+            return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+        }
+
+        static long upperBoundOf(int index) {
+            if (index < LINEAR_BUCKETS) return index;
+            int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+            int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - 3)) - 1;
+        }
+    }
+}
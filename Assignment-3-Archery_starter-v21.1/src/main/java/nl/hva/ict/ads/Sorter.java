@@ -1,7 +1,11 @@
 package nl.hva.ict.ads;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 public interface Sorter<E> {
     List<E> selInsSort(List<E> items, Comparator<E> comparator);
@@ -9,4 +13,20 @@ public interface Sorter<E> {
     default List<E> topsHeapSort(int numTops, List<E> items, Comparator<E> comparator) {
         return quickSort(items, comparator);
     }
+    default List<E> selectRange(List<E> items, int fromRank, int toRank, Comparator<E> comparator) {
+        return quickSort(items, comparator);
+    }
+    default Iterator<E> sortedIterator(List<E> items, Comparator<E> comparator) {
+        return quickSort(new ArrayList<>(items), comparator).iterator();
+    }
+    default List<E> mergeSort(List<E> items, Comparator<E> comparator) {
+        items.sort(comparator);
+        return items;
+    }
+    default List<E> sortByLongKey(List<E> items, ToLongFunction<E> keyExtractor) {
+        return quickSort(items, Comparator.comparingLong(keyExtractor));
+    }
+    default List<E> sortByIntKey(List<E> items, ToIntFunction<E> keyExtractor) {
+        return quickSort(items, Comparator.comparingInt(keyExtractor));
+    }
 }
@@ -1,36 +1,80 @@
 package nl.hva.ict.ads;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 public class SorterImpl<E> implements Sorter<E> {
 
+    // by default the algorithms run on an array snapshot of the items, which is written back into the list afterwards
+    // that avoids the O(n) cost of List.get and List.set on linked lists and the interface calls on array lists
+    private boolean inPlace = false;
+
+    public boolean isInPlace() {
+        return inPlace;
+    }
+
+    /**
+     * @param inPlace   true if the algorithms shall operate on the provided list directly,
+     *                  without use of an auxiliary array snapshot of the items
+     */
+    public void setInPlace(boolean inPlace) {
+        this.inPlace = inPlace;
+    }
+
     /**
      * Sorts all items by selection or insertion sort using the provided comparator
      * for deciding relative ordening of two items
-     * Items are sorted 'in place' without use of an auxiliary list or array
+     * Items are sorted 'in place', on an array snapshot of the list unless isInPlace()
      * @param items
      * @param comparator
      * @return  the items sorted in place
      */
     public List<E> selInsSort(List<E> items, Comparator<E> comparator) {
-        // TODO implement selection or insertion sort
+        return this.onArraySnapshot(items, list -> this.insertionSortPart(list, 0, list.size()-1, comparator));
+    }
 
-        return items;
+    /**
+     * Sorts all items between index positions 'from' and 'to' inclusive by insertion sort using the provided comparator
+     * for deciding relative ordening of two items
+     * Items are sorted 'in place' without use of an auxiliary list or array or other positions in items
+     * @param items
+     * @param from
+     * @param to
+     * @param comparator
+     */
+    protected void insertionSortPart(List<E> items, int from, int to, Comparator<E> comparator) {
+        for (int i = from + 1; i <= to; i++) {
+            // loop-invariant: items[from..i-1] are sorted
+            E item = items.get(i);
+            int j = i;
+            while (j > from && comparator.compare(items.get(j-1), item) > 0) {
+                items.set(j, items.get(j-1));
+                j--;
+            }
+            items.set(j, item);
+        }
     }
 
     /**
      * Sorts all items by quick sort using the provided comparator
      * for deciding relative ordening of two items
-     * Items are sorted 'in place' without use of an auxiliary list or array
+     * Items are sorted 'in place', on an array snapshot of the list unless isInPlace()
      * @param items
      * @param comparator
      * @return  the items sorted in place
      */
     public List<E> quickSort(List<E> items, Comparator<E> comparator) {
         // sort the complete list of items from position 0 till size-1, encluding position size
-        this.quickSortPart(items, 0, items.size()-1, comparator);
-        return items;
+        return this.onArraySnapshot(items, list -> this.quickSortPart(list, 0, list.size()-1, comparator));
     }
 
     /**
@@ -42,18 +86,196 @@ public class SorterImpl<E> implements Sorter<E> {
      * @param comparator
      * @return  the items sorted in place
      */
-    private void quickSortPart(List<E> items, int from, int to, Comparator<E> comparator) {
+    protected void quickSortPart(List<E> items, int from, int to, Comparator<E> comparator) {
+        while (from < to) {
+            int pivotIndex = this.quickSortPartition(items, from, to, comparator);
+            // recurse into the smaller part and iterate on the larger part to limit the stack depth
+            if (pivotIndex - from < to - pivotIndex) {
+                this.quickSortPart(items, from, pivotIndex - 1, comparator);
+                from = pivotIndex + 1;
+            } else {
+                this.quickSortPart(items, pivotIndex + 1, to, comparator);
+                to = pivotIndex - 1;
+            }
+        }
+    }
+
+    /**
+     * Partitions all items between index positions 'from' and 'to' inclusive around the pivot item of quickSortPivot
+     * Both scans stop at items equal to the pivot, which splits runs of equal items evenly
+     * and keeps the partitioning O(n log n) on input with many duplicates
+     * Items are partitioned 'in place' without use of an auxiliary list or array or other positions in items
+     * @param items
+     * @param from
+     * @param to        from < to
+     * @param comparator
+     * @return  the final position p of the pivot item, such that
+     *          all items[from..p-1] <= items[p] <= all items[p+1..to]
+     */
+    protected int quickSortPartition(List<E> items, int from, int to, Comparator<E> comparator) {
+        swap(items, from, this.quickSortPivot(items, from, to, comparator));
+        E pivot = items.get(from);
+        int i = from;
+        int j = to + 1;
+        while (true) {
+            // loop-invariant: items[from+1..i] <= pivot <= items[j..to]
+            do { i++; } while (i < to && comparator.compare(items.get(i), pivot) < 0);
+            do { j--; } while (j > from && comparator.compare(pivot, items.get(j)) < 0);
+            if (i >= j) break;
+            swap(items, i, j);
+        }
+        swap(items, from, j);
+        return j;
+    }
 
-        // TODO quick sort the sublist of items between index positions 'from' and 'to' inclusive
+    /**
+     * Partitions all items between index positions 'from' and 'to' inclusive into three parts
+     * around the pivot item of quickSortPivot: items smaller than, equal to and larger than the pivot.
+     * The band of items equal to the pivot is in its final position, so needs no further sorting
+     * Items are partitioned 'in place' without use of an auxiliary list or array or other positions in items
+     * @param items
+     * @param from
+     * @param to        from <= to
+     * @param comparator
+     * @return  the bounds {lt, gt} of the band of items equal to the pivot, such that
+     *          all items[from..lt-1] < items[lt..gt] < all items[gt+1..to]
+     */
+    protected int[] quickSortPartitionThreeWay(List<E> items, int from, int to, Comparator<E> comparator) {
+        E pivot = items.get(this.quickSortPivot(items, from, to, comparator));
+        int lt = from;
+        int gt = to;
+        int i = from;
+        while (i <= gt) {
+            // loop-invariant: items[from..lt-1] < pivot == items[lt..i-1], items[gt+1..to] > pivot
+            int c = comparator.compare(items.get(i), pivot);
+            if (c < 0) swap(items, lt++, i++);
+            else if (c > 0) swap(items, i, gt--);
+            else i++;
+        }
+        return new int[]{lt, gt};
+    }
 
+    /**
+     * Chooses the pivot item for partitioning the items between index positions 'from' and 'to' inclusive
+     * The middle item of the range is taken as the pivot, which works well on (partially) sorted input
+     * @param items
+     * @param from
+     * @param to
+     * @param comparator
+     * @return  the index position of the pivot item
+     */
+    protected int quickSortPivot(List<E> items, int from, int to, Comparator<E> comparator) {
+        return from + (to - from) / 2;
+    }
+
+    /**
+     * Sorts all items between index positions 'from' and 'to' inclusive by heap sort
+     * with use of the (zero-based) heapSwim and heapSink operations on a view of that range
+     * @param items
+     * @param from
+     * @param to
+     * @param comparator
+     */
+    protected void heapSortPart(List<E> items, int from, int to, Comparator<E> comparator) {
+        List<E> range = items.subList(from, to + 1);
+        // the root of the heap shall hold the largest item, which is the last one in sorted order
+        Comparator<E> reverseComparator = comparator.reversed();
+        for (int heapSize = 2; heapSize <= range.size(); heapSize++) {
+            heapSwim(range, heapSize, reverseComparator);
+        }
+        for (int i = range.size() - 1; i > 0; i--) {
+            swap(range, 0, i);
+            heapSink(range, i, reverseComparator);
+        }
+    }
+
+    static int floorLog2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+
+    /**
+     * Organizes the items of (zero-based) ranks fromRank until toRank according to comparator
+     * into positions fromRank..toRank-1 of the list, in sorted order, by quickselect on quickSortPartitionThreeWay:
+     * only the partitions that overlap the requested ranks are partitioned any further,
+     * and the selection stops as soon as the requested ranks fall within a band of items equal to a pivot.
+     * All items before fromRank are <= the items at these ranks, all items from toRank onwards are >= these items,
+     * both in arbitrary order. This takes expected O(n + k log k) for k = toRank - fromRank.
+     * Items are sorted 'in place', on an array snapshot of the list unless isInPlace()
+     * @param items
+     * @param fromRank  zero-based rank of the first item to be selected, inclusive
+     * @param toRank    zero-based rank of the last item to be selected, exclusive
+     * @param comparator
+     * @return  the items list with positions fromRank..toRank-1 equal to subList(fromRank, toRank) of the sorted list
+     */
+    public List<E> selectRange(List<E> items, int fromRank, int toRank, Comparator<E> comparator) {
+        // check 0 <= fromRank < toRank <= items.size()
+        int from = Math.max(0, fromRank);
+        int to = Math.min(items.size(), toRank);
+        if (from >= to) return items;
+
+        return this.onArraySnapshot(items, list -> this.selectRangePart(list, 0, list.size()-1, from, to, comparator));
+    }
+
+    /**
+     * Organizes the items of ranks fromRank until toRank among the items between index positions 'from' and 'to'
+     * inclusive, as specified by selectRange
+     * Items are sorted 'in place' without use of an auxiliary list or array or other positions in items
+     * @param items
+     * @param from
+     * @param to
+     * @param fromRank
+     * @param toRank
+     * @param comparator
+     */
+    protected void selectRangePart(List<E> items, int from, int to, int fromRank, int toRank, Comparator<E> comparator) {
+        while (from < to && from < toRank && to >= fromRank) {
+            if (fromRank <= from && to < toRank) {
+                // the partition lies within the ranks completely, so requires full ordening
+                this.quickSortPart(items, from, to, comparator);
+                return;
+            }
+            int[] band = this.quickSortPartitionThreeWay(items, from, to, comparator);
+            // only a partition that overlaps the requested ranks needs further work,
+            // the band of items equal to the pivot is in place already
+            if (band[0] > fromRank) {
+                this.selectRangePart(items, from, band[0] - 1, fromRank, toRank, comparator);
+            }
+            from = band[1] + 1;
+        }
+    }
+
+    /**
+     * Provides the items in sorted order lazily, by incremental quick sort on a snapshot of the items:
+     * every call of next() only partitions the leftmost unresolved segment until its first item is in place.
+     * Taking the first k items thereby costs expected O(n + k log k), and abandoning the iteration wastes no work
+     * on the remaining items. quickSortPartition splits runs of equal items evenly, so this bound holds on
+     * input with many duplicates as well. The items list itself is left unchanged.
+     * @param items
+     * @param comparator
+     * @return  an iterator over the items in the order of comparator
+     */
+    public Iterator<E> sortedIterator(List<E> items, Comparator<E> comparator) {
+        return new IncrementalSortIterator(new ArraySnapshot<>(items.toArray()), comparator);
+    }
+
+    /**
+     * Swaps the items at index positions i and j
+     * @param items
+     * @param i
+     * @param j
+     */
+    protected void swap(List<E> items, int i, int j) {
+        E item = items.get(i);
+        items.set(i, items.get(j));
+        items.set(j, item);
     }
 
     /**
      * Identifies the lead collection of numTops items according to the ordening criteria of comparator
      * and organizes and sorts this lead collection into the first numTops positions of the list
-     * with use of (zero-based) heapSwim and heapSink operations.
+     * with use of the (zero-based) swim and sink operations of a 4-ary IndexedDaryHeap.
      * The remaining items are kept in the tail of the list, in arbitrary order.
-     * Items are sorted 'in place' without use of an auxiliary list or array or other positions in items
+     * Items are sorted 'in place', on an array snapshot of the list unless isInPlace()
      * @param numTops       the size of the lead collection of items to be found and sorted
      * @param items
      * @param comparator
@@ -65,7 +287,19 @@ public class SorterImpl<E> implements Sorter<E> {
         if (numTops <= 0) return items;
         else if (numTops > items.size()) return quickSort(items, comparator);
 
-        // the lead collection of numTops items will be organised into a (zero-based) heap structure
+        return this.onArraySnapshot(items, list -> this.topsHeapSortPart(numTops, list, comparator));
+    }
+
+    /**
+     * Organizes and sorts the lead collection of 0 < numTops <= items.size() items
+     * into the first numTops positions of the list, as specified by topsHeapSort
+     * Items are sorted 'in place' without use of an auxiliary list or array or other positions in items
+     * @param numTops
+     * @param items
+     * @param comparator
+     */
+    protected void topsHeapSortPart(int numTops, List<E> items, Comparator<E> comparator) {
+        // the lead collection of numTops items will be organised into a (zero-based) 4-ary heap structure
         // in the first numTops list positions using the reverseComparator for the heap condition.
         // that way the root of the heap will contain the worst item of the lead collection
         // which can be compared easily against other candidates from the remainder of the list
@@ -74,7 +308,7 @@ public class SorterImpl<E> implements Sorter<E> {
         // initialise the lead collection with the first numTops items in the list
         for (int heapSize = 2; heapSize <= numTops; heapSize++) {
             // repair the heap condition of items[0..heapSize-2] to include new item items[heapSize-1]
-            heapSwim(items, heapSize, reverseComparator);
+            IndexedDaryHeap.swim(items, heapSize - 1, IndexedDaryHeap.DEFAULT_ARITY, reverseComparator);
         }
 
         // insert remaining items into the lead collection as appropriate
@@ -90,7 +324,7 @@ public class SorterImpl<E> implements Sorter<E> {
                 // demote worstLeadItem back to the tail collection, at the orginal position of item
                 items.set(i, worstLeadItem);
                 // repair the heap condition of the lead collection
-                heapSink(items, numTops, reverseComparator);
+                IndexedDaryHeap.sink(items, 0, numTops, IndexedDaryHeap.DEFAULT_ARITY, reverseComparator);
             }
         }
 
@@ -102,18 +336,15 @@ public class SorterImpl<E> implements Sorter<E> {
             // position 0 holds the root item of a heap of size i+1 organised by reverseComparator
             // this root item is the worst item of the remaining front part of the lead collection
 
-            // TODO swap item[0] and item[i];
-            //  this moves item[0] to its designated position
-
-
-            // TODO the new root may have violated the heap condition
-            //  repair the heap condition on the remaining heap of size i
+            // swap item[0] and item[i]; this moves item[0] to its designated position
+            swap(items, 0, i);
 
+            // the new root may have violated the heap condition
+            // repair the heap condition on the remaining heap of size i
+            IndexedDaryHeap.sink(items, 0, i, IndexedDaryHeap.DEFAULT_ARITY, reverseComparator);
         }
         // alternatively we can realise full ordening with a partial quicksort:
         // quickSortPart(items, 0, numTops-1, comparator);
-
-        return items;
     }
 
     /**
@@ -126,10 +357,10 @@ public class SorterImpl<E> implements Sorter<E> {
      * @param heapSize
      * @param comparator
      */
-    private void heapSwim(List<E> items, int heapSize, Comparator<E> comparator) {
-        // TODO swim items[heapSize-1] up the heap until
+    protected void heapSwim(List<E> items, int heapSize, Comparator<E> comparator) {
+        // swim items[heapSize-1] up the heap until
         //      i==0 || items[(i-1]/2] <= items[i]
-
+        IndexedDaryHeap.swim(items, heapSize - 1, 2, comparator);
     }
     /**
      * Repairs the zero-based heap condition for its root items[0] on the basis of the comparator
@@ -141,9 +372,271 @@ public class SorterImpl<E> implements Sorter<E> {
      * @param heapSize
      * @param comparator
      */
-    private void heapSink(List<E> items, int heapSize, Comparator<E> comparator) {
-        // TODO sink items[0] down the heap until
+    protected void heapSink(List<E> items, int heapSize, Comparator<E> comparator) {
+        // sink items[0] down the heap until
         //      2*i+1>=heapSize || (items[i] <= items[2*i+1] && items[i] <= items[2*i+2])
+        IndexedDaryHeap.sink(items, 0, heapSize, 2, comparator);
+    }
+
+    /**
+     * Sorts all items by a stable, adaptive merge sort using the provided comparator
+     * for deciding relative ordening of two items
+     * Items that are equal according to comparator retain their relative order,
+     * such that successive sorts by a secondary and a primary key can be chained.
+     * Natural runs in the items are merged, so (nearly) sorted items are sorted in close to linear time.
+     * Needs an auxiliary scratch array of at most half the size of the items, also if isInPlace()
+     * @param items
+     * @param comparator
+     * @return  the items sorted in place
+     */
+    public List<E> mergeSort(List<E> items, Comparator<E> comparator) {
+        return this.onArraySnapshot(items, list -> new RunMerger<>(list, comparator).sort());
+    }
+
+    /**
+     * Sorts all items in ascending order of the long keys that are provided by the keyExtractor
+     * The key of every item is extracted only once, after which the (key, index) pairs are sorted
+     * by a stable LSD radix sort of 8 bits per pass, skipping the passes over bytes that are equal in all keys.
+     * Finally the items are permuted into the order of the sorted indices.
+     * Needs auxiliary arrays for the keys and indices, also if isInPlace()
+     * @param items
+     * @param keyExtractor  provides the sort key of an item, items with equal keys retain their relative order
+     * @return  the items sorted in place
+     */
+    public List<E> sortByLongKey(List<E> items, ToLongFunction<E> keyExtractor) {
+        return this.onArraySnapshot(items, list -> {
+            long[] keys = new long[list.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keyExtractor.applyAsLong(list.get(i));
+            }
+            this.radixSortPart(list, keys);
+        });
+    }
+
+    /**
+     * Sorts all items in ascending order of the int keys that are provided by the keyExtractor
+     * The key of every item is extracted only once. If the keys span a range of at most twice the number of items,
+     * as with the consecutive ids of archers, the items are distributed by a counting sort in two linear passes.
+     * Otherwise the keys are sorted by the LSD radix sort of sortByLongKey.
+     * Needs auxiliary arrays for the keys and counts, also if isInPlace()
+     * @param items
+     * @param keyExtractor  provides the sort key of an item, items with equal keys retain their relative order
+     * @return  the items sorted in place
+     */
+    public List<E> sortByIntKey(List<E> items, ToIntFunction<E> keyExtractor) {
+        return this.onArraySnapshot(items, list -> {
+            int n = list.size();
+            if (n < 2) return;
+            int[] keys = new int[n];
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                keys[i] = keyExtractor.applyAsInt(list.get(i));
+                min = Math.min(min, keys[i]);
+                max = Math.max(max, keys[i]);
+            }
+            if ((long) max - min < 2L * n) {
+                this.countingSortPart(list, keys, min, max);
+            } else {
+                long[] longKeys = new long[n];
+                for (int i = 0; i < n; i++) longKeys[i] = keys[i];
+                this.radixSortPart(list, longKeys);
+            }
+        });
+    }
+
+    private void countingSortPart(List<E> items, int[] keys, int min, int max) {
+        int[] positions = new int[max - min + 2];
+        for (int key : keys) {
+            positions[key - min + 1]++;
+        }
+        // convert the counts into the start positions of the keys
+        for (int k = 1; k < positions.length; k++) {
+            positions[k] += positions[k - 1];
+        }
+        Object[] sorted = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[positions[keys[i] - min]++] = items.get(i);
+        }
+        for (int i = 0; i < sorted.length; i++) {
+            @SuppressWarnings("unchecked") E item = (E) sorted[i];
+            items.set(i, item);
+        }
+    }
+
+    private void radixSortPart(List<E> items, long[] keys) {
+        int n = items.size();
+        if (n < 2) return;
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            // flip the sign bit, such that negative keys are ordered before positive keys as unsigned values
+            keys[i] ^= Long.MIN_VALUE;
+            indices[i] = i;
+        }
+
+        // count the occurrences of every byte value at every byte position in a single pass
+        int[][] counts = new int[Long.BYTES][256];
+        for (long key : keys) {
+            for (int b = 0; b < Long.BYTES; b++) {
+                counts[b][(int) (key >>> (8 * b)) & 0xFF]++;
+            }
+        }
+
+        long[] scratchKeys = new long[n];
+        int[] scratchIndices = new int[n];
+        for (int b = 0; b < Long.BYTES; b++) {
+            int[] count = counts[b];
+            int shift = 8 * b;
+            if (count[(int) (keys[0] >>> shift) & 0xFF] == n) continue;
+
+            // convert the counts into the start positions of the buckets
+            int position = 0;
+            for (int v = 0; v < 256; v++) {
+                int c = count[v];
+                count[v] = position;
+                position += c;
+            }
+            // distribute the pairs stably over the buckets
+            for (int i = 0; i < n; i++) {
+                int target = count[(int) (keys[i] >>> shift) & 0xFF]++;
+                scratchKeys[target] = keys[i];
+                scratchIndices[target] = indices[i];
+            }
+            long[] swapKeys = keys; keys = scratchKeys; scratchKeys = swapKeys;
+            int[] swapIndices = indices; indices = scratchIndices; scratchIndices = swapIndices;
+        }
 
+        // permute the items into the sorted order of the indices
+        Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = items.get(indices[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked") E item = (E) sorted[i];
+            items.set(i, item);
+        }
+    }
+
+    /**
+     * Runs the algorithm on an array snapshot of the items and writes the result back into items
+     * with a single pass of a ListIterator, unless isInPlace() or items already is such a snapshot
+     * @param items
+     * @param algorithm     the sort algorithm to apply to (the snapshot of) items
+     * @return  the items, rearranged by the algorithm
+     */
+    protected List<E> onArraySnapshot(List<E> items, Consumer<List<E>> algorithm) {
+        if (inPlace || items instanceof ArraySnapshot || items.size() < 2) {
+            algorithm.accept(items);
+            return items;
+        }
+        ArraySnapshot<E> snapshot = new ArraySnapshot<>(items.toArray());
+        algorithm.accept(snapshot);
+        snapshot.writeBackTo(items);
+        return items;
+    }
+
+    /**
+     * Iterator of incremental quick sort, which keeps a stack of the final positions of the pivots
+     * that bound the unresolved segments to the right of the next item
+     */
+    private class IncrementalSortIterator implements Iterator<E> {
+        // segments up to this size are resolved by insertion sort in one go
+        private static final int INSERTION_SORT_THRESHOLD = 16;
+
+        private final List<E> items;
+        private final Comparator<E> comparator;
+        private int next = 0;
+        private int sortedUntil = 0;
+        // the top of the stack is the leftmost pivot at or after next, items.size() acts as sentinel
+        private int[] pivots = new int[32];
+        private int nPivots = 0;
+
+        IncrementalSortIterator(List<E> items, Comparator<E> comparator) {
+            this.items = items;
+            this.comparator = comparator;
+            this.pushPivot(items.size());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < items.size();
+        }
+
+        @Override
+        public E next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next >= sortedUntil) {
+                this.resolveNext();
+            }
+            return items.get(next++);
+        }
+
+        private void resolveNext() {
+            while (true) {
+                // loop-invariant: items[next..pivots[top]-1] <= items[pivots[top]] <= all items after it
+                int end = pivots[nPivots - 1];
+                if (end == next) {
+                    // the next item is a pivot, which is in its final position already
+                    nPivots--;
+                    sortedUntil = next + 1;
+                    return;
+                }
+                if (end - next <= INSERTION_SORT_THRESHOLD) {
+                    insertionSortPart(items, next, end - 1, comparator);
+                    sortedUntil = end;
+                    return;
+                }
+                this.pushPivot(quickSortPartition(items, next, end - 1, comparator));
+            }
+        }
+
+        private void pushPivot(int pivot) {
+            if (nPivots == pivots.length) {
+                pivots = Arrays.copyOf(pivots, 2 * nPivots);
+            }
+            pivots[nPivots++] = pivot;
+        }
+    }
+
+    /**
+     * Fixed size list view on an array with plain, unchecked element access
+     * @param <E>
+     */
+    private static final class ArraySnapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[] elements;
+
+        ArraySnapshot(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            return (E) elements[index];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E set(int index, E element) {
+            E previous = (E) elements[index];
+            elements[index] = element;
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        void writeBackTo(List<E> items) {
+            ListIterator<E> iterator = items.listIterator();
+            for (Object element : elements) {
+                iterator.next();
+                iterator.set((E) element);
+            }
+        }
     }
 }
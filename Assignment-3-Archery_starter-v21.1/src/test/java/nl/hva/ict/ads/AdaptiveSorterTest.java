@@ -0,0 +1,103 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveSorterTest extends ArcherSorterTest {
+    private static final int SIZE = 100000;
+    private final Random randomizer = new Random(1L);
+
+    AdaptiveSorterTest() {
+        sorter = new AdaptiveSorter<>();
+    }
+
+    private AdaptiveSorter.Strategy sortAndGetStrategy(List<Integer> items) {
+        AdaptiveSorter<Integer> adaptiveSorter = new AdaptiveSorter<>();
+        List<Integer> expected = new ArrayList<>(items);
+        expected.sort(Comparator.naturalOrder());
+        adaptiveSorter.quickSort(items, Comparator.naturalOrder());
+        assertEquals(expected, items);
+        return adaptiveSorter.getLastAnalysis().getStrategy();
+    }
+
+    @Test
+    void strategyFollowsPresortedness() {
+        List<Integer> sorted = new ArrayList<>();
+        List<Integer> random = new ArrayList<>();
+        List<Integer> fewUnique = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            sorted.add(i);
+            random.add(randomizer.nextInt());
+            fewUnique.add(randomizer.nextInt(5));
+        }
+        List<Integer> reversed = new ArrayList<>(sorted);
+        Collections.reverse(reversed);
+        List<Integer> nearlySorted = new ArrayList<>(sorted.subList(0, 1000));
+        Collections.swap(nearlySorted, 10, 11);
+        Collections.swap(nearlySorted, 500, 502);
+
+        assertEquals(AdaptiveSorter.Strategy.RUN_MERGE_SORT, sortAndGetStrategy(sorted));
+        assertEquals(AdaptiveSorter.Strategy.RUN_MERGE_SORT, sortAndGetStrategy(reversed));
+        assertEquals(AdaptiveSorter.Strategy.INSERTION_SORT, sortAndGetStrategy(nearlySorted));
+        assertEquals(AdaptiveSorter.Strategy.INSERTION_SORT, sortAndGetStrategy(new ArrayList<>(List.of(3, 1, 2))));
+        assertEquals(AdaptiveSorter.Strategy.THREE_WAY_QUICK_SORT, sortAndGetStrategy(fewUnique));
+        assertEquals(AdaptiveSorter.Strategy.QUICK_SORT, sortAndGetStrategy(random));
+    }
+
+    @Test
+    void defaultStrategyIsLinearithmicOnUndetectedDuplicates() {
+        // 200 distinct values among 400k items stay below the duplicate ratio of three-way quick sort
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 4 * SIZE; i++) {
+            items.add(randomizer.nextInt(200));
+        }
+        LongAdder comparisons = new LongAdder();
+        AdaptiveSorter<Integer> adaptiveSorter = new AdaptiveSorter<>();
+        adaptiveSorter.quickSort(items, (i1, i2) -> {
+            comparisons.increment();
+            return Integer.compare(i1, i2);
+        });
+
+        assertEquals(AdaptiveSorter.Strategy.QUICK_SORT, adaptiveSorter.getLastAnalysis().getStrategy());
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(items.get(i - 1) <= items.get(i));
+        }
+        assertTrue(comparisons.sum() < linearithmic(items.size()),
+                comparisons.sum() + " comparisons on " + items.size() + " items");
+    }
+
+    @Test
+    void threeWayQuickSortIsLinearithmicOnAdversarialPivots() {
+        // always pivoting on the first item degrades every partition of sorted input to a single split off item
+        AdaptiveSorter<Integer> adversarialSorter = new AdaptiveSorter<>() {
+            @Override
+            protected int quickSortPivot(List<Integer> items, int from, int to, Comparator<Integer> comparator) {
+                return from;
+            }
+        };
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            items.add(i);
+        }
+        LongAdder comparisons = new LongAdder();
+        adversarialSorter.threeWayQuickSortPart(items, 0, items.size() - 1, (i1, i2) -> {
+            comparisons.increment();
+            return Integer.compare(i1, i2);
+        });
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, items.get(i));
+        }
+        // 2*log(n) degenerate partitions plus the heap sort fallback, instead of n*n/2 comparisons
+        assertTrue(comparisons.sum() < 2 * linearithmic(items.size()),
+                comparisons.sum() + " comparisons on " + items.size() + " items");
+    }
+}
@@ -6,10 +6,16 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ArcherSorterTest {
     protected Sorter<Archer> sorter = new ArcherSorter();
@@ -72,6 +78,37 @@ class ArcherSorterTest {
         assertEquals(manyArchers, manySortedArchers);
     }
 
+    /**
+     * @return  nrOfArchers references to the archers of the fixture, to be sorted by keys that are all equal
+     */
+    protected List<Archer> manyEqualArchers(int nrOfArchers) {
+        List<Archer> archers = new ArrayList<>(nrOfArchers);
+        for (int i = 0; i < nrOfArchers; i++) {
+            archers.add(manyArchers.get(i % manyArchers.size()));
+        }
+        return archers;
+    }
+
+    protected static Comparator<Archer> countingEqualKeys(LongAdder counter) {
+        return (a1, a2) -> {
+            counter.increment();
+            return 0;
+        };
+    }
+
+    protected static long linearithmic(int n) {
+        return 4L * n * (32 - Integer.numberOfLeadingZeros(n));
+    }
+
+    @Test
+    void quickSortOnManyEqualKeysIsLinearithmic() {
+        List<Archer> equalArchers = manyEqualArchers(100000);
+        LongAdder comparisons = new LongAdder();
+        sorter.quickSort(equalArchers, countingEqualKeys(comparisons));
+        assertTrue(comparisons.sum() < linearithmic(equalArchers.size()),
+                comparisons.sum() + " comparisons on " + equalArchers.size() + " equal keys");
+    }
+
     @Test
     void topsHeapSortAndCollectionSortResultInSameOrder() {
         List<Archer> fewSortedArchers = new ArrayList<>(fewArchers);
@@ -90,4 +127,213 @@ class ArcherSorterTest {
         assertEquals(manyArchers.subList(0,25), manySortedArchers.subList(0,25));
     }
 
+    @Test
+    void selectRangeAndCollectionSortResultInSameRange() {
+        List<Archer> fewSortedArchers = new ArrayList<>(fewArchers);
+        List<Archer> manySortedArchers = new ArrayList<>(manyArchers);
+
+        Collections.shuffle(fewSortedArchers);
+        sorter.selectRange(fewSortedArchers, 0, 3, Comparator.comparing(Archer::getId));
+        fewArchers.sort(Comparator.comparing(Archer::getId));
+        assertEquals(fewArchers.subList(0,3), fewSortedArchers.subList(0,3));
+
+        manyArchers.sort(scoringScheme);
+        sorter.selectRange(manySortedArchers, 3, 10, scoringScheme);
+        assertEquals(manyArchers.subList(3,10), manySortedArchers.subList(3,10));
+
+        // the median archer
+        Collections.shuffle(manySortedArchers);
+        sorter.selectRange(manySortedArchers, 125, 126, scoringScheme);
+        assertEquals(manyArchers.get(125), manySortedArchers.get(125));
+
+        // all items outside the range are on the correct side of it
+        Collections.shuffle(manySortedArchers);
+        sorter.selectRange(manySortedArchers, 200, 300, scoringScheme);
+        assertEquals(manyArchers.subList(200,250), manySortedArchers.subList(200,250));
+        List<Archer> head = new ArrayList<>(manySortedArchers.subList(0,200));
+        head.sort(scoringScheme);
+        assertEquals(manyArchers.subList(0,200), head);
+    }
+
+    @Test
+    void selectRangeStopsWithinBandOfEqualKeys() {
+        List<Archer> equalArchers = manyEqualArchers(100000);
+        LongAdder comparisons = new LongAdder();
+        // the median falls within the band of the first pivot, which takes a single partitioning pass
+        sorter.selectRange(equalArchers, 50000, 50001, countingEqualKeys(comparisons));
+        assertTrue(comparisons.sum() < 2L * equalArchers.size(),
+                comparisons.sum() + " comparisons on " + equalArchers.size() + " equal keys");
+    }
+
+    @Test
+    void sortedIteratorOnManyEqualKeysIsLinearForFirstPage() {
+        List<Archer> equalArchers = manyEqualArchers(100000);
+        LongAdder comparisons = new LongAdder();
+        Iterator<Archer> iterator = sorter.sortedIterator(equalArchers, countingEqualKeys(comparisons));
+        for (int i = 0; i < 1000; i++) {
+            iterator.next();
+        }
+        // the partitions halve on equal keys, so the first page costs about 2n + k log k comparisons
+        assertTrue(comparisons.sum() < 3L * equalArchers.size() + linearithmic(1000),
+                comparisons.sum() + " comparisons for the first 1000 of " + equalArchers.size() + " equal keys");
+    }
+
+    @Test
+    void sortedIteratorAndCollectionSortResultInSameOrder() {
+        List<Archer> unsortedArchers = new ArrayList<>(manyArchers);
+        List<Archer> originalArchers = new ArrayList<>(manyArchers);
+        manyArchers.sort(scoringScheme);
+
+        // the first page only
+        Iterator<Archer> iterator = sorter.sortedIterator(unsortedArchers, scoringScheme);
+        for (int i = 0; i < 20; i++) {
+            assertSame(manyArchers.get(i), iterator.next());
+        }
+        // the iterator does not rearrange the items
+        assertEquals(originalArchers, unsortedArchers);
+
+        List<Archer> iterated = new ArrayList<>();
+        sorter.sortedIterator(unsortedArchers, scoringScheme).forEachRemaining(iterated::add);
+        assertEquals(manyArchers, iterated);
+
+        iterated.clear();
+        sorter.sortedIterator(fewArchers, Comparator.comparing(Archer::getLastName)).forEachRemaining(iterated::add);
+        fewArchers.sort(Comparator.comparing(Archer::getLastName));
+        assertEquals(fewArchers.stream().map(Archer::getLastName).collect(Collectors.toList()),
+                iterated.stream().map(Archer::getLastName).collect(Collectors.toList()));
+        assertFalse(sorter.sortedIterator(new ArrayList<>(), scoringScheme).hasNext());
+    }
+
+    @Test
+    void mergeSortAndCollectionSortResultInSameOrder() {
+        List<Archer> fewSortedArchers = new ArrayList<>(fewArchers);
+        List<Archer> manySortedArchers = new ArrayList<>(manyArchers);
+
+        Collections.shuffle(fewSortedArchers);
+        sorter.mergeSort(fewSortedArchers, Comparator.comparing(Archer::getId));
+        fewArchers.sort(Comparator.comparing(Archer::getId));
+        assertEquals(fewArchers, fewSortedArchers);
+
+        // chained sorts by secondary and primary key require a stable sort
+        sorter.mergeSort(manySortedArchers, Comparator.comparing(Archer::getFirstName));
+        sorter.mergeSort(manySortedArchers, Comparator.comparing(Archer::getLastName));
+        manyArchers.sort(Comparator.comparing(Archer::getFirstName));
+        manyArchers.sort(Comparator.comparing(Archer::getLastName));
+        assertEquals(manyArchers, manySortedArchers);
+
+        sorter.mergeSort(manySortedArchers, scoringScheme);
+        manyArchers.sort(scoringScheme);
+        assertEquals(manyArchers, manySortedArchers);
+    }
+
+    @Test
+    void sortByLongKeyAndCollectionSortResultInSameOrder() {
+        List<Archer> manySortedArchers = new ArrayList<>(manyArchers);
+
+        sorter.sortByLongKey(manySortedArchers, Archer::getRankingKey);
+        manyArchers.sort(scoringScheme);
+        assertEquals(manyArchers, manySortedArchers);
+
+        // negative keys shall be ordered before positive keys
+        sorter.sortByLongKey(manySortedArchers, archer -> 136000L - archer.getId());
+        manyArchers.sort(Comparator.comparing(Archer::getId).reversed());
+        assertEquals(manyArchers, manySortedArchers);
+
+        // the sort is stable for equal keys
+        Collections.shuffle(manySortedArchers);
+        List<Archer> expected = new ArrayList<>(manySortedArchers);
+        expected.sort(Comparator.comparing(Archer::getTotalMisses));
+        sorter.sortByLongKey(manySortedArchers, Archer::getTotalMisses);
+        assertEquals(expected, manySortedArchers);
+    }
+
+    @Test
+    void sortByIntKeyAndCollectionSortResultInSameOrder() {
+        List<Archer> manySortedArchers = new ArrayList<>(manyArchers);
+
+        // dense ids take the counting sort
+        Collections.shuffle(manySortedArchers);
+        sorter.sortByIntKey(manySortedArchers, Archer::getId);
+        manyArchers.sort(Comparator.comparing(Archer::getId));
+        assertEquals(manyArchers, manySortedArchers);
+
+        // sparse and negative keys take the radix sort
+        int middleId = manyArchers.get(manyArchers.size() / 2).getId();
+        sorter.sortByIntKey(manySortedArchers, archer -> (middleId - archer.getId()) * 100000);
+        manyArchers.sort(Comparator.comparing(Archer::getId).reversed());
+        assertEquals(manyArchers, manySortedArchers);
+
+        // packed name ranks sort alphabetically
+        sorter.sortByIntKey(manySortedArchers, Archer::getNameKey);
+        manyArchers.sort(Comparator.comparing(Archer::getLastName).thenComparing(Archer::getFirstName));
+        assertEquals(manyArchers, manySortedArchers);
+
+        // the sort is stable for equal keys
+        List<Archer> expected = new ArrayList<>(manySortedArchers);
+        expected.sort(Comparator.comparing(Archer::getTotalScore));
+        sorter.sortByIntKey(manySortedArchers, Archer::getTotalScore);
+        assertEquals(expected, manySortedArchers);
+    }
+
+    @Test
+    void sortByKeyAcceptsEmptyAndSingletonLists() {
+        Archer archer = manyArchers.get(0);
+        for (Sorter<Archer> keySorter : List.of(sorter, inPlaceSorter())) {
+            assertEquals(List.of(), keySorter.sortByLongKey(new ArrayList<>(), Archer::getRankingKey));
+            assertEquals(List.of(archer), keySorter.sortByLongKey(new ArrayList<>(List.of(archer)), Archer::getRankingKey));
+            assertEquals(List.of(), keySorter.sortByIntKey(new ArrayList<>(), Archer::getId));
+            assertEquals(List.of(archer), keySorter.sortByIntKey(new ArrayList<>(List.of(archer)), Archer::getNameKey));
+        }
+    }
+
+    @Test
+    void linkedListsAreSortedInPlace() {
+        List<Archer> expected = new ArrayList<>(manyArchers);
+        expected.sort(Comparator.comparing(Archer::getId));
+
+        List<Archer> linkedArchers = new LinkedList<>(manyArchers);
+        Collections.shuffle(linkedArchers);
+        assertSame(linkedArchers, sorter.selInsSort(linkedArchers, Comparator.comparing(Archer::getId)));
+        assertEquals(expected, linkedArchers);
+
+        Collections.shuffle(linkedArchers);
+        assertSame(linkedArchers, sorter.quickSort(linkedArchers, Comparator.comparing(Archer::getId)));
+        assertEquals(expected, linkedArchers);
+
+        Collections.shuffle(linkedArchers);
+        assertSame(linkedArchers, sorter.topsHeapSort(10, linkedArchers, Comparator.comparing(Archer::getId)));
+        assertEquals(expected.subList(0, 10), linkedArchers.subList(0, 10));
+    }
+
+    /**
+     * @return  the sorter of the fixture, configured to operate on the list directly without an array snapshot
+     */
+    protected Sorter<Archer> inPlaceSorter() {
+        ((SorterImpl<Archer>) sorter).setInPlace(true);
+        return sorter;
+    }
+
+    @Test
+    void inPlaceSortingGivesSameOrder() {
+        Sorter<Archer> inPlaceSorter = this.inPlaceSorter();
+        Comparator<Archer> byLastName = Comparator.comparing(Archer::getLastName).thenComparing(Archer::getId);
+        List<Archer> expected = new ArrayList<>(manyArchers);
+        expected.sort(byLastName);
+
+        Collections.shuffle(manyArchers);
+        inPlaceSorter.quickSort(manyArchers, byLastName);
+        assertEquals(expected, manyArchers);
+
+        Collections.shuffle(manyArchers);
+        inPlaceSorter.selInsSort(manyArchers, byLastName);
+        assertEquals(expected, manyArchers);
+
+        Collections.shuffle(manyArchers);
+        inPlaceSorter.mergeSort(manyArchers, byLastName);
+        assertEquals(expected, manyArchers);
+
+        Collections.shuffle(manyArchers);
+        inPlaceSorter.topsHeapSort(25, manyArchers, byLastName);
+        assertEquals(expected.subList(0, 25), manyArchers.subList(0, 25));
+    }
 }
@@ -0,0 +1,110 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArcherStoreTest {
+    private List<Archer> archers;
+    private ArcherStore store;
+
+    @BeforeEach
+    void setup() {
+        archers = new ArrayList<>(new ChampionSelector(1L).enrollArchers(250));
+        // a tiny initial capacity makes sure that the store needs to grow
+        store = new ChampionSelector(1L).enrollArchers(new ArcherStore(4), 250);
+    }
+
+    @Test
+    void storeHoldsSameCompetitionAsArcherList() {
+        assertEquals(archers.size(), store.size());
+        for (int i = 0; i < store.size(); i++) {
+            Archer archer = archers.get(i);
+            assertEquals(archer.getFirstName(), store.getFirstName(i));
+            assertEquals(archer.getLastName(), store.getLastName(i));
+            assertEquals(archer.getTotalScore(), store.getTotalScore(i));
+            assertEquals(archer.getTotalMisses(), store.getTotalMisses(i));
+            assertTrue(store.getId(i) > archer.getId());
+        }
+    }
+
+    @Test
+    void idsAreUniqueAndIncreasing() {
+        for (int i = 1; i < store.size(); i++) {
+            assertEquals(store.getId(i - 1) + 1, store.getId(i));
+        }
+        assertEquals(17, store.indexOf(store.getId(17)));
+        assertTrue(store.indexOf(archers.get(0).getId()) < 0);
+    }
+
+    @Test
+    void materialisedArchersMatchTheStore() {
+        for (int i = 0; i < store.size(); i++) {
+            Archer archer = store.toArcher(i);
+            assertEquals(store.getId(i), archer.getId());
+            assertEquals(store.getTotalScore(i), archer.getTotalScore());
+            assertEquals(store.getTotalMisses(i), archer.getTotalMisses());
+            assertEquals(store.getRankingKey(i), archer.getRankingKey());
+            assertEquals(store.getNameKey(i), archer.getNameKey());
+        }
+    }
+
+    @Test
+    void rankingMatchesScoringScheme() {
+        List<Archer> expected = new ArrayList<>();
+        for (int i = 0; i < store.size(); i++) {
+            expected.add(store.toArcher(i));
+        }
+        expected.sort(Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId);
+
+        int[] ranking = store.rankedIndices();
+        for (int r = 0; r < ranking.length; r++) {
+            assertEquals(expected.get(r).getId(), store.getId(ranking[r]));
+        }
+    }
+
+    @Test
+    void scoresCanBeOverwritten() {
+        ArcherStore store = new ArcherStore();
+        int index = store.enroll(0, 0);
+        assertEquals(Archer.MAX_ARROWS * Archer.MAX_ROUNDS, store.getTotalMisses(index));
+        store.registerScoreForRound(index, 2, new int[]{10, 0, 7});
+        assertEquals(17, store.getTotalScore(index));
+        store.registerScoreForRound(index, 2, new int[]{5, 5, 5});
+        assertEquals(15, store.getTotalScore(index));
+        assertEquals(Archer.MAX_ARROWS * Archer.MAX_ROUNDS - 3, store.getTotalMisses(index));
+        assertEquals(5, store.getScore(index, 4));
+    }
+
+    @Test
+    void storeRejectsInvalidRegistrations() {
+        ArcherStore store = new ArcherStore(4);
+        int index = store.enroll(0, 0);
+        // the capacity beyond size holds no archers
+        assertThrows(IndexOutOfBoundsException.class, () -> store.registerScoreForRound(index + 1, 1, new int[]{5, 5, 5}));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.registerScoreForRound(-1, 1, new int[]{5, 5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> store.registerScoreForRound(index, 1, new int[]{5, 11, 5}));
+        assertThrows(IllegalArgumentException.class, () -> store.registerScoreForRound(index, 1, new int[]{-1, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> store.registerScoreForRound(index, 11, new int[]{5, 5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> store.registerScoreForRound(index, 0, new int[]{5, 5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> store.registerScoreForRound(index, 1, new int[]{5, 5, 5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> store.registerScoreForRound(index, 1, new int[]{5, 5}));
+        // rejected rounds leave the scores unchanged
+        assertEquals(0, store.getTotalScore(index));
+        assertEquals(Archer.MAX_ARROWS * Archer.MAX_ROUNDS, store.getTotalMisses(index));
+    }
+
+    @Test
+    void growthIsClampedToMaximumCapacity() {
+        int maxCapacity = Integer.MAX_VALUE / 30;
+        assertEquals(2048, ArcherStore.grownCapacity(1024, maxCapacity));
+        assertEquals(maxCapacity, ArcherStore.grownCapacity(maxCapacity / 2 + 1, maxCapacity));
+        assertEquals(maxCapacity, ArcherStore.grownCapacity(maxCapacity - 1, maxCapacity));
+        assertThrows(IllegalStateException.class, () -> ArcherStore.grownCapacity(maxCapacity, maxCapacity));
+    }
+}
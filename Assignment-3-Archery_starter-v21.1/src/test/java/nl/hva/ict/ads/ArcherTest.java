@@ -134,4 +134,18 @@ public class ArcherTest {
         assertSame(2 * Archer.MAX_ROUNDS, archer2.getTotalMisses());
         assertSame(0, archer3.getTotalMisses());
     }
+
+    @Test
+    void checkTotalMissesUpdates() {
+        for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+            archer1.registerScoreForRound(round, scores4);
+        }
+        assertEquals(0, archer1.getTotalMisses());
+        archer1.registerScoreForRound(3, new int[]{0,10,0});
+        assertEquals(2, archer1.getTotalMisses());
+        assertEquals(145, archer1.getTotalScore());
+        archer1.registerScoreForRound(3, scores1);
+        assertEquals(1, archer1.getTotalMisses());
+        assertEquals(153, archer1.getTotalScore());
+    }
 }
@@ -0,0 +1,86 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChampionSelectorTest {
+    private static final int NR_OF_ARCHERS = 3 * ChampionSelector.ENROLLMENT_CHUNK_SIZE + 17;
+
+    private List<Archer> enrollInParallel(long seed, int parallelism) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> new ArrayList<>(new ChampionSelector(seed).enrollArchersInParallel(NR_OF_ARCHERS))).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelEnrollmentIsIndependentOfThreadCount() throws Exception {
+        List<Archer> sequential = enrollInParallel(19670427L, 1);
+        List<Archer> parallel = enrollInParallel(19670427L, 4);
+
+        assertEquals(NR_OF_ARCHERS, sequential.size());
+        assertEquals(NR_OF_ARCHERS, parallel.size());
+        int idOffset = parallel.get(0).getId() - sequential.get(0).getId();
+        for (int i = 0; i < NR_OF_ARCHERS; i++) {
+            Archer expected = sequential.get(i);
+            Archer actual = parallel.get(i);
+            assertEquals(expected.getId() + idOffset, actual.getId());
+            assertEquals(expected.getFirstName(), actual.getFirstName());
+            assertEquals(expected.getLastName(), actual.getLastName());
+            assertEquals(expected.getTotalScore(), actual.getTotalScore());
+            assertEquals(expected.getTotalMisses(), actual.getTotalMisses());
+        }
+    }
+
+    @Test
+    void parallelEnrollmentAssignsConsecutiveIds() {
+        ChampionSelector championSelector = new ChampionSelector(1L);
+        championSelector.enrollArchers(5);
+        List<Archer> archers = championSelector.enrollArchersInParallel(NR_OF_ARCHERS);
+        for (int i = 1; i < archers.size(); i++) {
+            assertEquals(archers.get(i - 1).getId() + 1, archers.get(i).getId());
+        }
+    }
+
+    @Test
+    void differentSeedsProduceDifferentCompetitions() throws Exception {
+        List<Archer> first = enrollInParallel(1L, 2);
+        List<Archer> second = enrollInParallel(2L, 2);
+        int differences = 0;
+        for (int i = 0; i < NR_OF_ARCHERS; i++) {
+            if (first.get(i).getTotalScore() != second.get(i).getTotalScore()) differences++;
+        }
+        assertTrue(differences > NR_OF_ARCHERS / 2);
+    }
+
+    @Test
+    void resultsOfStoreHaveAllReports() {
+        ArcherStore store = new ChampionSelector(1L).enrollArchers(new ArcherStore(), 500);
+        ResultsEngine expected = new ResultsEngine();
+        for (int i = 0; i < store.size(); i++) {
+            expected.accept(store.toArcher(i));
+        }
+        ByteArrayOutputStream expectedOutput = new ByteArrayOutputStream();
+        expected.printResults(new PrintStream(expectedOutput, true));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(output, true));
+        try {
+            new ChampionSelector(1L).showResults(store);
+        } finally {
+            System.setOut(out);
+        }
+        assertEquals(expectedOutput.toString(), output.toString());
+        assertTrue(output.toString().contains("by alphabet"));
+    }
+}
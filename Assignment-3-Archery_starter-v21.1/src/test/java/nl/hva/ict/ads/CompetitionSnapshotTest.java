@@ -0,0 +1,89 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompetitionSnapshotTest {
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void snapshotReloadsAllArchers() throws IOException {
+        ChampionSelector championSelector = new ChampionSelector(1L);
+        List<Archer> archers = championSelector.enrollArchers(1000);
+        Path file = tempDirectory.resolve("competition.bin");
+        CompetitionSnapshot.write(file, archers);
+
+        CompetitionSnapshot snapshot = CompetitionSnapshot.open(file);
+        assertEquals(archers.size(), snapshot.size());
+        assertEquals(archers.get(archers.size() - 1).getId() + 1, snapshot.getNextId());
+        List<Archer> reloaded = snapshot.getArchers();
+        for (int i = 0; i < archers.size(); i++) {
+            Archer archer = archers.get(i);
+            Archer copy = reloaded.get(i);
+            assertEquals(archer.getId(), copy.getId());
+            assertEquals(archer.getFirstName(), copy.getFirstName());
+            assertEquals(archer.getLastName(), copy.getLastName());
+            assertEquals(archer.getTotalScore(), copy.getTotalScore());
+            assertEquals(archer.getTotalMisses(), copy.getTotalMisses());
+            assertEquals(archer.getRankingKey(), copy.getRankingKey());
+            for (int arrow = 0; arrow < Archer.MAX_ARROWS * Archer.MAX_ROUNDS; arrow++) {
+                assertEquals(archer.getScore(arrow), copy.getScore(arrow));
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getArcher(archers.size()));
+
+        snapshot.restoreNextId();
+        assertTrue(new Archer("Nico", "Tromp").getId() >= snapshot.getNextId());
+    }
+
+    @Test
+    void emptyCompetitionCanBeReloaded() throws IOException {
+        Path file = tempDirectory.resolve("empty.bin");
+        CompetitionSnapshot.write(file, List.of());
+        assertEquals(0, CompetitionSnapshot.open(file).size());
+    }
+
+    @Test
+    void invalidFilesAreRejected() throws IOException {
+        Path file = tempDirectory.resolve("invalid.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> CompetitionSnapshot.open(file));
+
+        CompetitionSnapshot.write(file, new ChampionSelector(2L).enrollArchers(10));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> CompetitionSnapshot.open(file));
+        bytes[7] = 99;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> CompetitionSnapshot.open(file));
+    }
+
+    @Test
+    void snapshotOfSubsetContinuesAfterItsHighestId() throws IOException {
+        List<Archer> archers = new ChampionSelector(3L).enrollArchers(100);
+        // archers that are created later on do not affect the next id of the snapshot
+        new Archer("Nico", "Tromp");
+        Path file = tempDirectory.resolve("subset.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        CompetitionSnapshot.write(file, archers.subList(0, 10));
+
+        CompetitionSnapshot snapshot = CompetitionSnapshot.open(file);
+        assertEquals(10, snapshot.size());
+        assertEquals(archers.get(9).getId() + 1, snapshot.getNextId());
+        // the previous file has been replaced, without leaving the temporary file behind
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(List.of(file), files.collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentScoreRegistryTest {
+    private static final int THREADS = 8;
+    private static final int ARCHERS_PER_THREAD = 20000;
+
+    @Test
+    void concurrentEnrollmentsGetUniqueIds() throws Exception {
+        ConcurrentScoreRegistry registry = new ConcurrentScoreRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < ARCHERS_PER_THREAD; i++) {
+                    registry.enroll("Nico", "Tromp");
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+
+        Set<Integer> ids = new HashSet<>();
+        for (Archer archer : registry.getArchers()) {
+            ids.add(archer.getId());
+        }
+        assertEquals(THREADS * ARCHERS_PER_THREAD, registry.size());
+        assertEquals(THREADS * ARCHERS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    void concurrentSubmissionsKeepConsistentTotals() throws Exception {
+        ConcurrentScoreRegistry registry = new ConcurrentScoreRegistry(4);
+        List<Archer> archers = new ArrayList<>();
+        for (int i = 0; i < ARCHERS_PER_THREAD; i++) {
+            archers.add(registry.enroll("Steve", "Wijler"));
+        }
+
+        // every judge submits and then corrects its own rounds for all archers, in a single pass.
+        // Rounds of different judges share a packed score word, and no later submission repairs
+        // a lost update, so any lost update would show in the combined totals
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int judge = t;
+            futures.add(executor.submit(() -> {
+                for (Archer archer : archers) {
+                    for (int round = 1 + judge; round <= Archer.MAX_ROUNDS; round += THREADS) {
+                        registry.submitScore(archer.getId(), round, new int[]{10, 10, 10});
+                        registry.submitScore(archer.getId(), round, pointsOfRound(round));
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+
+        int expectedScore = 0;
+        int expectedMisses = 0;
+        for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+            for (int point : pointsOfRound(round)) {
+                expectedScore += point;
+                if (point == 0) expectedMisses++;
+            }
+        }
+        for (Archer archer : archers) {
+            assertEquals(expectedScore, registry.getTotalScore(archer.getId()));
+            assertEquals(expectedMisses, registry.getTotalMisses(archer.getId()));
+        }
+    }
+
+    /**
+     * @return  distinct points for every round, with a varying number of misses
+     */
+    private static int[] pointsOfRound(int round) {
+        return new int[]{round, 10 - round, round % 2 == 0 ? 0 : 5};
+    }
+
+    @Test
+    void unknownArchersAreRejected() {
+        ConcurrentScoreRegistry registry = new ConcurrentScoreRegistry();
+        assertThrows(IllegalArgumentException.class, () -> registry.submitScore(-1, 1, new int[]{1, 2, 3}));
+    }
+}
@@ -0,0 +1,123 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalArcherSorterTest {
+    private final Comparator<Archer> scoringScheme = Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId;
+    private List<Archer> archers;
+
+    @TempDir
+    Path tempDirectory;
+
+    @BeforeEach
+    void setup() {
+        archers = new ArrayList<>(new ChampionSelector(1L).enrollArchers(2500));
+        archers.add(new Archer("Gabriëla", "Schloesser"));
+    }
+
+    private void assertSameArchers(List<Archer> expected, List<Archer> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getTotalMisses(), actual.get(i).getTotalMisses());
+        }
+    }
+
+    @Test
+    void externalSortWithManyRunsAndMergePasses() throws IOException {
+        // 26 runs, with room for merging only 2 runs at a time
+        ExternalArcherSorter externalSorter = new ExternalArcherSorter(new IntroSorter<>(), 100,
+                3 * ExternalArcherSorter.MIN_BUFFER_SIZE, tempDirectory);
+        List<Archer> sorted = new ArrayList<>();
+        assertEquals(archers.size(), externalSorter.sort(archers.iterator(), scoringScheme, sorted::add));
+
+        archers.sort(scoringScheme);
+        assertSameArchers(archers, sorted);
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void externalSortWithinSingleRun() throws IOException {
+        ExternalArcherSorter externalSorter = new ExternalArcherSorter(tempDirectory);
+        List<Archer> sorted = new ArrayList<>();
+        externalSorter.sort(archers.iterator(), Comparator.comparing(Archer::getLastName).thenComparing(Archer::getId), sorted::add);
+
+        archers.sort(Comparator.comparing(Archer::getLastName).thenComparing(Archer::getId));
+        assertEquals(archers, sorted);
+    }
+
+    @Test
+    void truncatedRunFileIsReportedByName() {
+        // the first run exceeds the buffer of its reader, so its tail is read after the truncation
+        ExternalArcherSorter externalSorter = new ExternalArcherSorter(new IntroSorter<>(), 2000,
+                3 * ExternalArcherSorter.MIN_BUFFER_SIZE, tempDirectory);
+        boolean[] truncated = {false};
+        IOException exception = assertThrows(IOException.class, () ->
+                externalSorter.sort(archers.iterator(), scoringScheme, archer -> {
+                    if (truncated[0]) return;
+                    truncated[0] = true;
+                    try (Stream<Path> files = Files.list(tempDirectory)) {
+                        for (Path run : (Iterable<Path>) files::iterator) {
+                            try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                                // cut into the last archer of the run
+                                channel.truncate(channel.size() - 7);
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+        assertTrue(exception.getMessage().contains(tempDirectory.toString()), exception.getMessage());
+    }
+
+    @Test
+    void failingMergePassLeavesNoRunFiles() throws IOException {
+        // 26 runs, with room for merging only 2 runs at a time
+        ExternalArcherSorter externalSorter = new ExternalArcherSorter(new IntroSorter<>(), 100,
+                3 * ExternalArcherSorter.MIN_BUFFER_SIZE, tempDirectory);
+        // the merge passes compare the archers that are decoded from the runs, not the archers of the source
+        Set<Archer> sourceArchers = Collections.newSetFromMap(new IdentityHashMap<>());
+        sourceArchers.addAll(archers);
+        int[] mergeComparisons = {0};
+        Comparator<Archer> failingComparator = (a1, a2) -> {
+            if (!sourceArchers.contains(a1) && ++mergeComparisons[0] > 500) {
+                // fails within the third group of the first merge pass
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+            return scoringScheme.compare(a1, a2);
+        };
+
+        assertThrows(IOException.class, () -> externalSorter.sort(archers.iterator(), failingComparator, archer -> {}));
+        assertTrue(mergeComparisons[0] > 500);
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void externalSortOfNothing() throws IOException {
+        List<Archer> sorted = new ArrayList<>();
+        assertEquals(0, new ExternalArcherSorter(tempDirectory).sort(List.<Archer>of().iterator(), scoringScheme, sorted::add));
+        assertTrue(sorted.isEmpty());
+    }
+}
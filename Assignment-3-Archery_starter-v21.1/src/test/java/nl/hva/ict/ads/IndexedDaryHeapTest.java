@@ -0,0 +1,118 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedDaryHeapTest {
+    private final Random randomizer = new Random(1L);
+
+    private static class Item {
+        int key;
+
+        Item(int key) {
+            this.key = key;
+        }
+    }
+
+    private final Comparator<Item> byKey = Comparator.comparingInt(item -> item.key);
+
+    private List<Item> randomItems(int n) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            items.add(new Item(randomizer.nextInt(n)));
+        }
+        return items;
+    }
+
+    private List<Item> drain(IndexedDaryHeap<Item> heap) {
+        List<Item> polled = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            polled.add(heap.poll());
+        }
+        assertNull(heap.poll());
+        return polled;
+    }
+
+    private void assertSortedKeys(List<Item> expected, List<Item> actual) {
+        expected.sort(byKey);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).key, actual.get(i).key);
+        }
+    }
+
+    @Test
+    void pollsInOrderForAnyArity() {
+        for (int arity = 2; arity <= 8; arity++) {
+            IndexedDaryHeap<Item> heap = new IndexedDaryHeap<>(arity, byKey);
+            List<Item> items = randomItems(500);
+            items.forEach(heap::add);
+            assertEquals(500, heap.size());
+            assertSortedKeys(items, drain(heap));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap<>(1, byKey));
+    }
+
+    @Test
+    void repositionsChangedKeysByHandle() {
+        IndexedDaryHeap<Item> heap = new IndexedDaryHeap<>(byKey);
+        List<Item> items = randomItems(1000);
+        items.forEach(heap::add);
+
+        for (int i = 0; i < 300; i++) {
+            Item item = items.get(randomizer.nextInt(items.size()));
+            if (randomizer.nextBoolean()) {
+                item.key -= randomizer.nextInt(500);
+                heap.decreaseKey(item);
+            } else {
+                item.key += randomizer.nextInt(500);
+                heap.increaseKey(item);
+            }
+            assertTrue(heap.peek().key <= item.key);
+        }
+        Item item = items.get(0);
+        item.key = Integer.MIN_VALUE;
+        heap.update(item);
+        assertSame(item, heap.peek());
+
+        assertTrue(heap.remove(items.get(1)));
+        assertFalse(heap.remove(items.get(1)));
+        assertFalse(heap.contains(items.get(1)));
+        items.remove(1);
+        assertSortedKeys(items, drain(heap));
+    }
+
+    @Test
+    void rejectsUnknownAndDuplicateElements() {
+        IndexedDaryHeap<Item> heap = new IndexedDaryHeap<>(byKey);
+        Item item = new Item(1);
+        heap.add(item);
+        assertThrows(IllegalArgumentException.class, () -> heap.add(item));
+        assertThrows(NoSuchElementException.class, () -> heap.decreaseKey(new Item(0)));
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertNull(heap.peek());
+    }
+
+    @Test
+    void unindexedHeapPollsInOrderWithoutHandles() {
+        IndexedDaryHeap<Item> heap = new IndexedDaryHeap<>(IndexedDaryHeap.DEFAULT_ARITY, byKey, false);
+        assertFalse(heap.isIndexed());
+        List<Item> items = randomItems(500);
+        items.forEach(heap::add);
+        // without an index, equal elements are not detected
+        heap.add(items.get(0));
+        items.add(items.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> heap.contains(items.get(1)));
+        assertThrows(UnsupportedOperationException.class, () -> heap.decreaseKey(items.get(1)));
+        assertThrows(UnsupportedOperationException.class, () -> heap.remove(items.get(1)));
+        assertSortedKeys(items, drain(heap));
+    }
+}
@@ -0,0 +1,65 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedSorterTest extends ArcherSorterTest {
+    private final SortMetrics metrics = new SortMetrics();
+
+    InstrumentedSorterTest() {
+        sorter = new InstrumentedSorter<>(new ArcherSorter(), "archers", metrics);
+    }
+
+    @Override
+    protected Sorter<Archer> inPlaceSorter() {
+        SorterImpl<Archer> inPlaceSorter = new ArcherSorter();
+        inPlaceSorter.setInPlace(true);
+        return new InstrumentedSorter<>(inPlaceSorter, "inPlace", metrics);
+    }
+
+    @Test
+    void callsComparisonsAndAccessesAreCounted() {
+        SorterImpl<Archer> inPlaceSorter = new ArcherSorter();
+        inPlaceSorter.setInPlace(true);
+        Sorter<Archer> instrumentedSorter = new InstrumentedSorter<>(inPlaceSorter, "inPlace", metrics);
+
+        List<Archer> archers = new ArrayList<>(manyArchers);
+        instrumentedSorter.selInsSort(archers, scoringScheme);
+        Collections.shuffle(archers);
+        instrumentedSorter.selInsSort(archers, scoringScheme);
+
+        SortMetrics.OperationMetrics operation = metrics.getOperations().get("inPlace.selInsSort");
+        assertEquals(2, operation.getCalls());
+        // the sorted list takes n-1 comparisons, the shuffled list at least as many
+        assertTrue(operation.getComparisons() >= 2 * (archers.size() - 1));
+        assertTrue(operation.getReads() >= operation.getComparisons());
+        assertTrue(operation.getWrites() > 0);
+        assertTrue(operation.getLatencyPercentile(50) > 0);
+        assertTrue(operation.getLatencyPercentile(50) <= operation.getLatencyPercentile(100));
+    }
+
+    @Test
+    void metricsCanBeDumped() {
+        sorter.quickSort(manyArchers, Comparator.comparing(Archer::getId));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        metrics.dump(new PrintStream(out));
+        assertTrue(out.toString().contains("archers.quickSort"));
+    }
+
+    @Test
+    void histogramBucketsBoundTheirValues() {
+        for (long nanos : new long[]{0, 1, 15, 16, 17, 100, 12345, 987654321L, Long.MAX_VALUE}) {
+            long upperBound = SortMetrics.LatencyHistogram.upperBoundOf(SortMetrics.LatencyHistogram.indexOf(nanos));
+            assertTrue(nanos <= upperBound);
+            assertTrue(upperBound - nanos <= nanos / 8);
+        }
+    }
+}
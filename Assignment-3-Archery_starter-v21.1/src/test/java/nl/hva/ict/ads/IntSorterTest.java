@@ -0,0 +1,118 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntSorterTest {
+    protected IntSorter sorter = new IntSorter();
+    protected List<Archer> manyArchers;
+    protected int[] fewIds;
+    protected int[] manyScores;
+
+    @BeforeEach
+    void setup() {
+        ChampionSelector championSelector = new ChampionSelector(1L);
+        List<Archer> fewArchers = new ArrayList<>(championSelector.enrollArchers(23));
+        manyArchers = new ArrayList<>(championSelector.enrollArchers(250));
+        fewIds = fewArchers.stream().mapToInt(Archer::getId).toArray();
+        manyScores = manyArchers.stream().mapToInt(Archer::getTotalScore).toArray();
+        // reverse the ids, such that they need sorting
+        for (int i = 0, j = fewIds.length - 1; i < j; i++, j--) {
+            int id = fewIds[i];
+            fewIds[i] = fewIds[j];
+            fewIds[j] = id;
+        }
+    }
+
+    private static int[] sorted(int[] items) {
+        int[] sorted = items.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static int[] reversed(int[] items) {
+        int[] reversed = sorted(items);
+        for (int i = 0, j = reversed.length - 1; i < j; i++, j--) {
+            int item = reversed[i];
+            reversed[i] = reversed[j];
+            reversed[j] = item;
+        }
+        return reversed;
+    }
+
+    @Test
+    void selInsSortAndArraysSortResultInSameOrder() {
+        assertArrayEquals(sorted(fewIds), sorter.selInsSort(fewIds.clone()));
+        assertArrayEquals(sorted(manyScores), sorter.selInsSort(manyScores.clone()));
+        assertArrayEquals(reversed(manyScores), sorter.selInsSort(manyScores.clone(), IntSorter.NATURAL_ORDER.reversed()));
+    }
+
+    @Test
+    void quickSortAndArraysSortResultInSameOrder() {
+        assertArrayEquals(sorted(fewIds), sorter.quickSort(fewIds.clone()));
+        assertArrayEquals(sorted(manyScores), sorter.quickSort(manyScores.clone()));
+        assertArrayEquals(reversed(manyScores), sorter.quickSort(manyScores.clone(), IntSorter.NATURAL_ORDER.reversed()));
+        assertArrayEquals(new int[0], sorter.quickSort(new int[0]));
+    }
+
+    @Test
+    void quickSortOnManyDuplicatesIsLinearithmic() {
+        // total scores have only 301 distinct values
+        Random randomizer = new Random(1L);
+        int[] scores = new int[400000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = randomizer.nextInt(301);
+        }
+        long[] comparisons = {0};
+        int[] sortedScores = sorter.quickSort(scores.clone(), (a, b) -> {
+            comparisons[0]++;
+            return Integer.compare(a, b);
+        });
+        assertArrayEquals(sorted(scores), sortedScores);
+        long linearithmic = 4L * scores.length * (32 - Integer.numberOfLeadingZeros(scores.length));
+        assertTrue(comparisons[0] < linearithmic, comparisons[0] + " comparisons on " + scores.length + " scores");
+    }
+
+    @Test
+    void topsHeapSortAndArraysSortResultInSameOrder() {
+        int[] fewSortedIds = sorter.topsHeapSort(5, fewIds.clone());
+        assertArrayEquals(Arrays.copyOf(sorted(fewIds), 5), Arrays.copyOf(fewSortedIds, 5));
+
+        int[] manySortedScores = sorter.topsHeapSort(25, manyScores.clone(), IntSorter.NATURAL_ORDER.reversed());
+        assertArrayEquals(Arrays.copyOf(reversed(manyScores), 25), Arrays.copyOf(manySortedScores, 25));
+        // the tail holds all other items
+        assertArrayEquals(sorted(manyScores), sorted(manySortedScores));
+
+        assertArrayEquals(sorted(fewIds), sorter.topsHeapSort(100, fewIds.clone()));
+    }
+
+    @Test
+    void quickSortIndicesAndCollectionSortResultInSameOrder() {
+        int[] indices = new int[manyArchers.size()];
+        int[] keys = new int[manyArchers.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+            // a unique key in the order of the scoring scheme
+            Archer archer = manyArchers.get(i);
+            keys[i] = (300 - archer.getTotalScore()) << 20 | archer.getTotalMisses() << 14 | i;
+        }
+        sorter.quickSortIndices(indices, keys);
+
+        List<Archer> expected = new ArrayList<>(manyArchers);
+        expected.sort(Comparator.comparing(Archer::getTotalScore).reversed()
+                .thenComparing(Archer::getTotalMisses).thenComparing(manyArchers::indexOf));
+        for (int r = 0; r < indices.length; r++) {
+            assertEquals(expected.get(r), manyArchers.get(indices[r]));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntroSorterTest extends ArcherSorterTest {
+    private static final int SIZE = 200000;
+
+    IntroSorterTest() {
+        sorter = new IntroSorter<>();
+    }
+
+    @Test
+    void adversarialInputsSortInLinearithmicComparisons() {
+        List<Integer> sorted = new ArrayList<>();
+        List<Integer> equal = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            sorted.add(i);
+            equal.add(42);
+        }
+        List<Integer> reversed = new ArrayList<>(sorted);
+        Collections.reverse(reversed);
+        List<Integer> organPipe = new ArrayList<>(sorted.subList(0, SIZE / 2));
+        organPipe.addAll(reversed.subList(SIZE / 2, SIZE));
+
+        for (List<Integer> items : List.of(sorted, reversed, equal, organPipe)) {
+            List<Integer> expected = new ArrayList<>(items);
+            expected.sort(Comparator.naturalOrder());
+            long[] comparisons = {0};
+            new IntroSorter<Integer>().quickSort(items, (a, b) -> {
+                comparisons[0]++;
+                return a.compareTo(b);
+            });
+            assertEquals(expected, items);
+            assertTrue(comparisons[0] < 4L * SIZE * 18, "too many comparisons: " + comparisons[0]);
+        }
+    }
+
+    @Test
+    void heapSortFallbackSortsRange() {
+        List<Integer> items = new ArrayList<>(List.of(9, 8, 7, 6, 5, 4, 3, 2, 1, 0));
+        new IntroSorter<Integer>().heapSortPart(items, 2, 7, Comparator.naturalOrder());
+        assertEquals(List.of(9, 8, 2, 3, 4, 5, 6, 7, 1, 0), items);
+    }
+}
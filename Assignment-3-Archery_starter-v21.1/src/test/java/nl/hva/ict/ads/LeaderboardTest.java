@@ -0,0 +1,89 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+    private final Comparator<Archer> scoringScheme = Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId;
+    private ChampionSelector championSelector;
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setup() {
+        championSelector = new ChampionSelector(1L);
+        leaderboard = championSelector.startLeaderboard(10);
+    }
+
+    private List<Archer> expectedLead(int numTops) {
+        List<Archer> archers = new ArrayList<>(championSelector.getArchers());
+        archers.sort(scoringScheme);
+        return archers.subList(0, Math.min(numTops, archers.size()));
+    }
+
+    @Test
+    void leaderboardFollowsEnrollment() {
+        championSelector.enrollArchers(5);
+        assertEquals(expectedLead(10), leaderboard.snapshot());
+        championSelector.enrollArchers(500);
+        assertEquals(expectedLead(10), leaderboard.snapshot());
+        assertTrue(leaderboard.isLeading(leaderboard.snapshot().get(9)));
+    }
+
+    @Test
+    void leaderboardFollowsImprovementsAndCorrections() {
+        championSelector.enrollArchers(300);
+        Archer outsider = expectedLead(300).get(150);
+        assertFalse(leaderboard.isLeading(outsider));
+        for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+            leaderboard.registerScoreForRound(outsider, round, new int[]{10, 10, 10});
+        }
+        assertEquals(outsider, leaderboard.snapshot().get(0));
+        assertEquals(expectedLead(10), leaderboard.snapshot());
+
+        Archer leader = leaderboard.snapshot().get(0);
+        for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+            leaderboard.registerScoreForRound(leader, round, new int[]{0, 0, 0});
+        }
+        assertFalse(leaderboard.isLeading(leader));
+        assertEquals(expectedLead(10), leaderboard.snapshot());
+    }
+
+    @Test
+    void worseningCorrectionsOnlyRebuildWhenTheReserveRunsOut() {
+        championSelector.enrollArchers(300);
+        int[] scans = {0};
+        Collection<Archer> population = new AbstractCollection<>() {
+            @Override
+            public Iterator<Archer> iterator() {
+                scans[0]++;
+                return championSelector.getArchers().iterator();
+            }
+
+            @Override
+            public int size() {
+                return championSelector.getArchers().size();
+            }
+        };
+        Leaderboard reserved = new Leaderboard(10, 5, population);
+        assertEquals(1, scans[0]);
+
+        for (int corrections = 1; corrections <= 6; corrections++) {
+            Archer leader = reserved.snapshot().get(0);
+            for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+                reserved.registerScoreForRound(leader, round, new int[]{0, 0, 0});
+            }
+            assertFalse(reserved.isLeading(leader));
+            assertEquals(expectedLead(10), reserved.snapshot());
+            assertEquals(corrections <= 5 ? 1 : 2, scans[0], "scans after " + corrections + " corrections");
+        }
+    }
+}
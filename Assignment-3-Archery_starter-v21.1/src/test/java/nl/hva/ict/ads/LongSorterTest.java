@@ -0,0 +1,110 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongSorterTest {
+    protected LongSorter sorter = new LongSorter();
+    protected Comparator<Archer> scoringScheme = Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId;
+    protected List<Archer> manyArchers;
+    protected long[] fewKeys;
+    protected long[] manyKeys;
+
+    @BeforeEach
+    void setup() {
+        ChampionSelector championSelector = new ChampionSelector(1L);
+        List<Archer> fewArchers = new ArrayList<>(championSelector.enrollArchers(23));
+        manyArchers = new ArrayList<>(championSelector.enrollArchers(250));
+        fewKeys = fewArchers.stream().mapToLong(Archer::getRankingKey).toArray();
+        // negative keys shall be ordered before positive keys
+        manyKeys = manyArchers.stream().mapToLong(archer -> archer.getRankingKey() - (1L << 62)).toArray();
+    }
+
+    private static long[] sorted(long[] items) {
+        long[] sorted = items.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static long[] reversed(long[] items) {
+        long[] reversed = sorted(items);
+        for (int i = 0, j = reversed.length - 1; i < j; i++, j--) {
+            long item = reversed[i];
+            reversed[i] = reversed[j];
+            reversed[j] = item;
+        }
+        return reversed;
+    }
+
+    @Test
+    void selInsSortAndArraysSortResultInSameOrder() {
+        assertArrayEquals(sorted(fewKeys), sorter.selInsSort(fewKeys.clone()));
+        assertArrayEquals(sorted(manyKeys), sorter.selInsSort(manyKeys.clone()));
+        assertArrayEquals(reversed(manyKeys), sorter.selInsSort(manyKeys.clone(), LongSorter.NATURAL_ORDER.reversed()));
+    }
+
+    @Test
+    void quickSortAndArraysSortResultInSameOrder() {
+        assertArrayEquals(sorted(fewKeys), sorter.quickSort(fewKeys.clone()));
+        assertArrayEquals(sorted(manyKeys), sorter.quickSort(manyKeys.clone()));
+        assertArrayEquals(reversed(manyKeys), sorter.quickSort(manyKeys.clone(), LongSorter.NATURAL_ORDER.reversed()));
+        assertArrayEquals(new long[0], sorter.quickSort(new long[0]));
+    }
+
+    @Test
+    void quickSortOnManyDuplicatesIsLinearithmic() {
+        // total scores have only 301 distinct values
+        Random randomizer = new Random(1L);
+        long[] scores = new long[400000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = randomizer.nextInt(301);
+        }
+        long[] comparisons = {0};
+        long[] sortedScores = sorter.quickSort(scores.clone(), (a, b) -> {
+            comparisons[0]++;
+            return Long.compare(a, b);
+        });
+        assertArrayEquals(sorted(scores), sortedScores);
+        long linearithmic = 4L * scores.length * (32 - Integer.numberOfLeadingZeros(scores.length));
+        assertTrue(comparisons[0] < linearithmic, comparisons[0] + " comparisons on " + scores.length + " scores");
+    }
+
+    @Test
+    void topsHeapSortAndArraysSortResultInSameOrder() {
+        long[] fewSortedKeys = sorter.topsHeapSort(5, fewKeys.clone());
+        assertArrayEquals(Arrays.copyOf(sorted(fewKeys), 5), Arrays.copyOf(fewSortedKeys, 5));
+
+        long[] manySortedKeys = sorter.topsHeapSort(25, manyKeys.clone());
+        assertArrayEquals(Arrays.copyOf(sorted(manyKeys), 25), Arrays.copyOf(manySortedKeys, 25));
+        // the tail holds all other items
+        assertArrayEquals(sorted(manyKeys), sorted(manySortedKeys));
+
+        assertArrayEquals(sorted(fewKeys), sorter.topsHeapSort(100, fewKeys.clone()));
+    }
+
+    @Test
+    void quickSortIndicesAndCollectionSortResultInSameOrder() {
+        long[] keys = manyArchers.stream().mapToLong(Archer::getRankingKey).toArray();
+        int[] indices = new int[keys.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        sorter.quickSortIndices(indices, keys);
+
+        List<Archer> expected = new ArrayList<>(manyArchers);
+        expected.sort(scoringScheme);
+        for (int r = 0; r < indices.length; r++) {
+            assertEquals(expected.get(r), manyArchers.get(indices[r]));
+        }
+    }
+}
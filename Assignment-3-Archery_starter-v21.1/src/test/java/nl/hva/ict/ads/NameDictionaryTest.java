@@ -0,0 +1,103 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameDictionaryTest {
+
+    @Test
+    void dictionariesAreSeededWithNames() {
+        for (int i = 0; i < Names.nrOfFirstNames(); i++) {
+            assertEquals(i, NameDictionary.FIRST_NAMES.ordinalOf(Names.firstName(i)));
+            assertEquals(Names.firstName(i), NameDictionary.FIRST_NAMES.nameOf(i));
+        }
+        for (int i = 0; i < Names.nrOfSurnames(); i++) {
+            assertEquals(i, NameDictionary.SURNAMES.ordinalOf(Names.surname(i)));
+        }
+    }
+
+    @Test
+    void ranksFollowAlphabeticalOrder() {
+        NameDictionary dictionary = new NameDictionary();
+        int tromp = dictionary.ordinalOf("Tromp");
+        int berg = dictionary.ordinalOf("Berg");
+        assertEquals(tromp, dictionary.ordinalOf("Tromp"));
+        assertEquals(1, dictionary.rankOf(tromp));
+        assertEquals(0, dictionary.rankOf(berg));
+
+        // a new name shifts the ranks of the names that follow it
+        int schloesser = dictionary.ordinalOf("Schloesser");
+        assertEquals(1, dictionary.rankOf(schloesser));
+        assertEquals(2, dictionary.rankOf(tromp));
+        assertEquals(3, dictionary.size());
+    }
+
+    @Test
+    void ranksOfExistingNamesShiftForNewFirstName() {
+        NameDictionary dictionary = new NameDictionary();
+        int tromp = dictionary.ordinalOf("Tromp");
+        int berg = dictionary.ordinalOf("Berg");
+        assertEquals(0, dictionary.rankOf(berg));
+        assertEquals(1, dictionary.rankOf(tromp));
+
+        // the existing names are requested before the new name, yet their ranks shall not be stale
+        int aa = dictionary.ordinalOf("Aa");
+        assertEquals(1, dictionary.rankOf(berg));
+        assertEquals(2, dictionary.rankOf(tromp));
+        assertEquals(0, dictionary.rankOf(aa));
+    }
+
+    @Test
+    void nameKeysOfArchersStayConsistentWithNewNames() {
+        Archer archer = new Archer("Gabriëla", "Schloesser");
+        Archer other = new Archer("Gabriëla", "Berg");
+        int before = archer.getNameKey();
+        assertTrue(other.getNameKey() < before);
+
+        // a surname that sorts before all seeded surnames shifts the ranks of all of them
+        Archer first = new Archer("Gabriëla", "AAAAA");
+        assertEquals(before + (1 << 16), archer.getNameKey());
+        assertTrue(first.getNameKey() < other.getNameKey());
+        assertTrue(other.getNameKey() < archer.getNameKey());
+    }
+
+    @Test
+    void ranksOfConcurrentlyAddedNamesAreAvailable() throws Exception {
+        NameDictionary dictionary = new NameDictionary();
+        int nrOfNames = 5000;
+        // all threads add the same names, so most ordinals are found on the lock-free path of another thread
+        Callable<Integer> addAndRank = () -> {
+            int maxRank = 0;
+            for (int i = 0; i < nrOfNames; i++) {
+                int ordinal = dictionary.ordinalOf("Name" + i);
+                maxRank = Math.max(maxRank, dictionary.rankOf(ordinal));
+            }
+            return maxRank;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (Future<Integer> result : executor.invokeAll(Collections.nCopies(4, addAndRank))) {
+                assertTrue(result.get() < nrOfNames);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(nrOfNames, dictionary.size());
+    }
+
+    @Test
+    void archersKeepTheirNames() {
+        Archer archer = new Archer("Gabriëla", "Schloesser");
+        assertEquals("Gabriëla", archer.getFirstName());
+        assertEquals("Schloesser", archer.getLastName());
+        Archer other = new Archer("Gabriëla", "Berg");
+        assertTrue(other.getNameKey() < archer.getNameKey());
+    }
+}
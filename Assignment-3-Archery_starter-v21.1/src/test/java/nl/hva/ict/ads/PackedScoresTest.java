@@ -0,0 +1,60 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedScoresTest {
+
+    @Test
+    void packedTotalsAndMissesMatchPlainCounts() {
+        Random randomizer = new Random(1L);
+        for (int trial = 0; trial < 1000; trial++) {
+            int nrOfArrows = 1 + randomizer.nextInt(PackedScores.ARROWS_PER_WORD);
+            long word = 0;
+            int total = 0;
+            int misses = 0;
+            for (int arrow = 0; arrow < nrOfArrows; arrow++) {
+                int points = randomizer.nextInt(PackedScores.MAX_POINTS + 1);
+                word = PackedScores.with(word, arrow, points);
+                assertEquals(points, PackedScores.get(word, arrow));
+                total += points;
+                if (points == 0) misses++;
+            }
+            assertEquals(total, PackedScores.total(word));
+            assertEquals(misses, PackedScores.misses(word, nrOfArrows));
+        }
+    }
+
+    @Test
+    void packedScoresCanBeReplaced() {
+        long word = 0;
+        for (int arrow = 0; arrow < PackedScores.ARROWS_PER_WORD; arrow++) {
+            word = PackedScores.with(word, arrow, 15);
+        }
+        assertEquals(240, PackedScores.total(word));
+        assertEquals(0, PackedScores.misses(word, PackedScores.ARROWS_PER_WORD));
+
+        word = PackedScores.with(word, 15, 0);
+        word = PackedScores.with(word, 3, 7);
+        assertEquals(240 - 15 - 8, PackedScores.total(word));
+        assertEquals(1, PackedScores.misses(word, PackedScores.ARROWS_PER_WORD));
+        assertEquals(0, PackedScores.misses(word, 15));
+        assertEquals(16, PackedScores.misses(0L, PackedScores.ARROWS_PER_WORD));
+    }
+
+    @Test
+    void archerRejectsInvalidPoints() {
+        Archer archer = new Archer("Nico", "Tromp");
+        assertThrows(IllegalArgumentException.class, () -> archer.registerScoreForRound(1, new int[]{5, 11, 5}));
+        assertThrows(IllegalArgumentException.class, () -> archer.registerScoreForRound(1, new int[]{-1, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> archer.registerScoreForRound(11, new int[]{5, 5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> archer.registerScoreForRound(0, new int[]{5, 5, 5}));
+        assertThrows(IllegalArgumentException.class, () -> archer.registerScoreForRound(1, new int[]{5, 5, 5, 5}));
+        // rejected rounds leave the scores unchanged
+        assertEquals(0, archer.getTotalScore());
+        assertEquals(30, archer.getTotalMisses());
+    }
+}
@@ -0,0 +1,102 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelSorterTest extends ArcherSorterTest {
+
+    ParallelSorterTest() {
+        // a tiny threshold makes sure that the test lists are actually split into tasks
+        sorter = new ParallelSorter<>(4);
+    }
+
+    @Test
+    void parallelAndSequentialQuickSortResultInSameOrder() {
+        Random randomizer = new Random(1L);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            items.add(randomizer.nextInt(1000));
+        }
+        List<Integer> sequentialItems = new ArrayList<>(items);
+
+        List<Integer> sortedItems = new ParallelSorter<Integer>(256).quickSort(items, Comparator.naturalOrder());
+        new SorterImpl<Integer>().quickSort(sequentialItems, Comparator.naturalOrder());
+
+        assertSame(items, sortedItems);
+        assertEquals(sequentialItems, items);
+        sequentialItems.sort(Comparator.naturalOrder());
+        assertEquals(sequentialItems, items);
+    }
+
+    @Test
+    void parallelQuickSortOnManyEqualKeysDoesNotNestDeeply() {
+        List<Archer> equalArchers = manyEqualArchers(200000);
+        List<Archer> expected = new ArrayList<>(equalArchers);
+        new ParallelSorter<Archer>(256).quickSort(equalArchers, (a1, a2) -> 0);
+        List<Archer> all = new ArrayList<>(equalArchers);
+        all.sort(Comparator.comparing(Archer::getId));
+        expected.sort(Comparator.comparing(Archer::getId));
+        assertEquals(expected, all);
+    }
+
+    @Test
+    void parallelLeavesInheritTheRemainingDepth() {
+        // always pivoting on the first item of sorted input splits off a single item per partition,
+        // so all partitions form one chain of tasks that ends in a single large sequential leaf
+        int size = 100000;
+        AtomicInteger partitions = new AtomicInteger();
+        ParallelSorter<Integer> adversarialSorter = new ParallelSorter<>(size - 20) {
+            @Override
+            protected int quickSortPivot(List<Integer> items, int from, int to, Comparator<Integer> comparator) {
+                return from;
+            }
+
+            @Override
+            protected int quickSortPartition(List<Integer> items, int from, int to, Comparator<Integer> comparator) {
+                partitions.incrementAndGet();
+                return super.quickSortPartition(items, from, to, comparator);
+            }
+        };
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(i);
+        }
+        adversarialSorter.quickSort(items, Comparator.naturalOrder());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, items.get(i));
+        }
+        // the tasks and the leaf share a single depth budget before heap sort takes over
+        assertTrue(partitions.get() <= 2 * SorterImpl.floorLog2(size),
+                partitions.get() + " partitions of " + size + " items");
+    }
+
+    @Test
+    void parallelTopsHeapSortFindsLeadCollection() {
+        Random randomizer = new Random(1L);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            items.add(randomizer.nextInt(50000));
+        }
+        List<Integer> expected = new ArrayList<>(items);
+        expected.sort(Comparator.naturalOrder());
+
+        for (int numTops : new int[]{1, 3, 1000, 30000}) {
+            Collections.shuffle(items, randomizer);
+            new ParallelSorter<Integer>(256).topsHeapSort(numTops, items, Comparator.naturalOrder());
+            assertEquals(expected.subList(0, numTops), items.subList(0, numTops));
+            List<Integer> all = new ArrayList<>(items);
+            all.sort(Comparator.naturalOrder());
+            assertEquals(expected, all);
+        }
+    }
+}
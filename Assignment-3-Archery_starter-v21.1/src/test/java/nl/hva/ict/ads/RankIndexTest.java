@@ -0,0 +1,82 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankIndexTest {
+    private final Comparator<Archer> scoringScheme = Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId;
+    private ChampionSelector championSelector;
+    private RankIndex rankIndex;
+
+    @BeforeEach
+    void setup() {
+        championSelector = new ChampionSelector(1L);
+        rankIndex = championSelector.startRankIndex();
+    }
+
+    private List<Archer> expectedRanking() {
+        List<Archer> archers = new ArrayList<>(championSelector.getArchers());
+        archers.sort(scoringScheme);
+        return archers;
+    }
+
+    private void assertConsistentRanking() {
+        List<Archer> ranking = expectedRanking();
+        assertEquals(ranking.size(), rankIndex.size());
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            assertEquals(rank, rankIndex.rankOf(ranking.get(rank)));
+            assertSame(ranking.get(rank), rankIndex.archerAtRank(rank));
+        }
+        assertEquals(ranking, rankIndex.range(0, ranking.size()));
+        assertEquals(ranking.subList(3, 10), rankIndex.range(3, 10));
+        assertEquals(List.of(), rankIndex.range(5, 5));
+    }
+
+    @Test
+    void rankIndexFollowsEnrollment() {
+        championSelector.enrollArchers(10);
+        assertConsistentRanking();
+        championSelector.enrollArchers(500);
+        assertConsistentRanking();
+        championSelector.enrollArchersInParallel(300);
+        assertConsistentRanking();
+    }
+
+    @Test
+    void rankIndexFollowsScoreChanges() {
+        championSelector.enrollArchers(300);
+        Archer outsider = expectedRanking().get(150);
+        for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+            rankIndex.registerScoreForRound(outsider, round, new int[]{10, 10, 10});
+        }
+        assertEquals(0, rankIndex.rankOf(outsider));
+        assertConsistentRanking();
+
+        Archer leader = rankIndex.archerAtRank(0);
+        for (int round = 1; round <= Archer.MAX_ROUNDS; round++) {
+            rankIndex.registerScoreForRound(leader, round, new int[]{0, 0, 0});
+        }
+        assertEquals(rankIndex.size() - 1, rankIndex.rankOf(leader));
+        assertConsistentRanking();
+
+        assertTrue(rankIndex.remove(leader));
+        assertFalse(rankIndex.contains(leader));
+        assertEquals(-1, rankIndex.rankOf(leader));
+        championSelector.getArchers().remove(leader);
+        assertConsistentRanking();
+    }
+
+    @Test
+    void rankIndexRejectsInvalidRanks() {
+        championSelector.enrollArchers(20);
+        assertThrows(IndexOutOfBoundsException.class, () -> rankIndex.archerAtRank(20));
+        assertThrows(IndexOutOfBoundsException.class, () -> rankIndex.range(0, 21));
+        assertThrows(IllegalArgumentException.class, () -> rankIndex.range(5, 4));
+    }
+}
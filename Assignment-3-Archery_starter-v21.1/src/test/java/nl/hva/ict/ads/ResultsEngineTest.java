@@ -0,0 +1,65 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultsEngineTest {
+    private final Comparator<Archer> scoringScheme = Archer::compareByHighestTotalScoreWithLeastMissesAndLowestId;
+
+    private void assertResultsOf(List<Archer> archers, ResultsEngine results) {
+        assertEquals(archers.size(), results.getCount());
+        List<Archer> sorted = new ArrayList<>(archers);
+
+        sorted.sort(Comparator.comparing(Archer::getId));
+        assertEquals(sorted.subList(0, 3), results.getFirstToEnroll());
+
+        sorted.sort(Comparator.comparing(Archer::getLastName).thenComparing(Archer::getFirstName)
+                .thenComparing(Archer::getId));
+        assertEquals(sorted.subList(0, 3), results.getFirstByAlphabet());
+
+        sorted.sort(scoringScheme);
+        assertEquals(sorted.subList(3, 10), results.getRanked(3, 10));
+        assertEquals(sorted.subList(0, 3), results.getPodium());
+    }
+
+    @Test
+    void singlePassResultsEqualSortedResults() {
+        List<Archer> archers = new ChampionSelector(1L).enrollArchers(2000);
+        ResultsEngine results = new ResultsEngine();
+        archers.forEach(results);
+        assertResultsOf(archers, results);
+    }
+
+    @Test
+    void combinedResultsEqualSortedResults() {
+        List<Archer> archers = new ChampionSelector(2L).enrollArchersInParallel(20000);
+        ResultsEngine results = archers.parallelStream()
+                .collect(ResultsEngine::new, ResultsEngine::accept, ResultsEngine::combine);
+        assertResultsOf(archers, results);
+    }
+
+    @Test
+    void generatedArchersAreReportedWithoutEnrollment() {
+        ChampionSelector championSelector = new ChampionSelector(3L);
+        List<Archer> generated = new ArrayList<>();
+        ResultsEngine results = new ResultsEngine();
+        championSelector.generateArchers(500).peek(generated::add).forEach(results);
+        assertTrue(championSelector.getArchers().isEmpty());
+        assertResultsOf(generated, results);
+    }
+
+    @Test
+    void fewArchersGiveShortReports() {
+        List<Archer> archers = new ChampionSelector(4L).enrollArchers(5);
+        ResultsEngine results = new ResultsEngine();
+        archers.forEach(results);
+        assertEquals(3, results.getPodium().size());
+        assertEquals(2, results.getRanked(3, 10).size());
+        assertThrows(IllegalArgumentException.class, () -> results.getRanked(0, 11));
+    }
+}
@@ -0,0 +1,83 @@
+package nl.hva.ict.ads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunMergerTest {
+    private static final int SIZE = 100000;
+    private final Random randomizer = new Random(1L);
+
+    /** sorts pairs of {key, original position} by key only, such that stability can be verified */
+    private void assertSortsStably(List<int[]> items) {
+        List<int[]> expected = new ArrayList<>(items);
+        expected.sort(Comparator.comparingInt(pair -> pair[0]));
+        new SorterImpl<int[]>().mergeSort(items, Comparator.comparingInt(pair -> pair[0]));
+        assertEquals(expected, items);
+    }
+
+    private List<int[]> pairs(int[] keys) {
+        List<int[]> items = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            items.add(new int[]{keys[i], i});
+        }
+        return items;
+    }
+
+    @Test
+    void randomInputsWithDuplicatesSortStably() {
+        for (int range : new int[]{2, 100, SIZE, Integer.MAX_VALUE}) {
+            int[] keys = new int[SIZE];
+            for (int i = 0; i < SIZE; i++) keys[i] = randomizer.nextInt(range);
+            assertSortsStably(pairs(keys));
+        }
+    }
+
+    @Test
+    void structuredInputsSortStably() {
+        int[] sawTooth = new int[SIZE];
+        int[] descendingWithTies = new int[SIZE];
+        int[] nearlySorted = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            sawTooth[i] = i % 1000;
+            descendingWithTies[i] = (SIZE - i) / 3;
+            nearlySorted[i] = i;
+        }
+        for (int i = 0; i < 50; i++) {
+            int j = randomizer.nextInt(SIZE);
+            nearlySorted[j] = randomizer.nextInt(SIZE);
+        }
+        assertSortsStably(pairs(sawTooth));
+        assertSortsStably(pairs(descendingWithTies));
+        assertSortsStably(pairs(nearlySorted));
+        assertSortsStably(pairs(new int[0]));
+        assertSortsStably(pairs(new int[]{3}));
+    }
+
+    @Test
+    void sortedInputTakesLinearComparisons() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) items.add(i);
+        for (List<Integer> input : List.of(new ArrayList<>(items), reversed(items))) {
+            long[] comparisons = {0};
+            new SorterImpl<Integer>().mergeSort(input, (a, b) -> {
+                comparisons[0]++;
+                return a.compareTo(b);
+            });
+            assertEquals(items, input);
+            assertEquals(SIZE - 1, comparisons[0]);
+        }
+    }
+
+    private static List<Integer> reversed(List<Integer> items) {
+        List<Integer> reversed = new ArrayList<>(items);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+}